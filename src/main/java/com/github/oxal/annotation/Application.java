@@ -9,4 +9,10 @@ import java.lang.annotation.Target;
 @Target({ElementType.TYPE})
 public @interface Application {
     String[] packages() default {};
+
+    /**
+     * Creates every singleton while the context loads, before the {@code @AfterContextLoad} callbacks, instead of on
+     * first use. Singletons that do not depend on each other are created in parallel.
+     */
+    boolean eagerInit() default false;
 }
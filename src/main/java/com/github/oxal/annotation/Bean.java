@@ -13,4 +13,31 @@ public @interface Bean {
     String value() default DEFAULT;
 
     ScopeType scope() default ScopeType.SINGLETON;
+
+    /**
+     * The number of instances of a {@link ScopeType#POOLED} bean created at startup and kept however long they idle.
+     */
+    int poolMinSize() default 0;
+
+    /**
+     * The maximum number of instances of a {@link ScopeType#POOLED} bean. Borrowers wait once they are all borrowed.
+     */
+    int poolMaxSize() default 8;
+
+    /**
+     * How long an instance of a {@link ScopeType#POOLED} bean may idle in the pool before it is evicted, or {@code 0}
+     * to never evict.
+     */
+    long poolIdleTimeoutMillis() default 60_000;
+
+    /**
+     * How long an instance of a {@link ScopeType#REFRESHABLE} bean is used before a replacement is built.
+     */
+    long refreshTtlMillis() default 300_000;
+
+    /**
+     * How long a replaced instance of a {@link ScopeType#REFRESHABLE} bean stays open before it is closed, if it is
+     * {@link AutoCloseable}, so that callers still holding it can finish with it.
+     */
+    long refreshGraceMillis() default 10_000;
 }
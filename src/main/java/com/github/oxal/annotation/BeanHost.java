@@ -0,0 +1,24 @@
+package com.github.oxal.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets how a class declaring {@link Bean} methods is instantiated to invoke them.
+ *
+ * <p>Without this annotation, the class is created once, through its single public constructor with its dependencies
+ * injected or else its no-arg constructor, and every {@code @Bean} method is invoked on that shared instance. A class
+ * that is itself a bean hosts its methods with its own bean instead. Static {@code @Bean} methods need no host.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target(ElementType.TYPE)
+public @interface BeanHost {
+
+    /**
+     * {@link ScopeType#PROTOTYPE} creates a new host for every bean created from one of its methods. Hosts cannot be
+     * {@link ScopeType#POOLED}.
+     */
+    ScopeType scope() default ScopeType.SINGLETON;
+}
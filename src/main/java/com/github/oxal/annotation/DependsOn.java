@@ -0,0 +1,20 @@
+package com.github.oxal.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Names beans that must be created before the annotated bean, even though it does not inject them, for instance a
+ * bean initializing a resource the annotated bean relies on.
+ *
+ * <p>This annotation can be used on classes annotated with {@link Bean} or on methods annotated with {@link Bean}.
+ * It is honored both when the bean is loaded on demand and by the eager initialization of
+ * {@link Application#eagerInit()}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface DependsOn {
+    String[] value();
+}
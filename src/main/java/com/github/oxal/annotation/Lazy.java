@@ -0,0 +1,20 @@
+package com.github.oxal.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Defers the creation of a bean until it is actually used.
+ *
+ * <p>On a constructor or {@code @Bean} method parameter of an interface type, a proxy is injected instead of the bean.
+ * The proxy loads the bean on its first method call and then forwards every call to it.
+ *
+ * <p>On a class annotated with {@link Bean} or a method annotated with {@link Bean}, the bean is left out of the
+ * eager initialization of {@link Application#eagerInit()}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.PARAMETER, ElementType.TYPE, ElementType.METHOD})
+public @interface Lazy {
+}
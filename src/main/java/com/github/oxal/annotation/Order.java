@@ -0,0 +1,25 @@
+package com.github.oxal.annotation;
+
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Sets the position of a bean among the beans of a type injected as a {@code List} or {@code Set}, or loaded with
+ * {@code ApplicationRunner.loadBeans}. Lower values come first; beans without this annotation come last, in the
+ * order they were registered.
+ *
+ * <p>This annotation can be used on classes annotated with {@link Bean} or on methods annotated with {@link Bean}.
+ */
+@Retention(RetentionPolicy.RUNTIME)
+@Target({ElementType.TYPE, ElementType.METHOD})
+public @interface Order {
+
+    /**
+     * The order of beans without {@code @Order}.
+     */
+    int LOWEST = Integer.MAX_VALUE;
+
+    int value();
+}
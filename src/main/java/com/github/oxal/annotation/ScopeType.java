@@ -9,5 +9,38 @@ public enum ScopeType {
     /**
      * Scopes a single bean definition to any number of object instances.
      */
-    PROTOTYPE
+    PROTOTYPE,
+
+    /**
+     * Keeps a bounded pool of instances, borrowed and returned by their users. Suited to expensive objects that are
+     * not thread-safe, such as parsers or codecs. The pool is sized by {@link Bean#poolMinSize()},
+     * {@link Bean#poolMaxSize()} and {@link Bean#poolIdleTimeoutMillis()}.
+     */
+    POOLED,
+
+    /**
+     * Scopes a single bean definition to one instance per request or task, shared by the threads forked within it and
+     * destroyed when it ends. Beans are loaded inside {@code RequestScope.run} or {@code RequestScope.call}.
+     */
+    REQUEST,
+
+    /**
+     * Scopes a single bean definition to one instance held through a soft reference: the garbage collector may
+     * reclaim it when memory runs low, and it is created again on the next lookup. Suited to large caches that can be
+     * rebuilt on demand.
+     */
+    SOFT,
+
+    /**
+     * Like {@link #SOFT}, with the instance held through a weak reference: it is reclaimed at the next garbage
+     * collection once no other object holds it.
+     */
+    WEAK,
+
+    /**
+     * Scopes a single bean definition to one shared instance, replaced in the background every
+     * {@link Bean#refreshTtlMillis()}. Callers get the current instance while its replacement is built. Suited to
+     * short-lived credentials or rotating configuration snapshots.
+     */
+    REFRESHABLE
 }
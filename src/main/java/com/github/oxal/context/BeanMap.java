@@ -0,0 +1,161 @@
+package com.github.oxal.context;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Supplier;
+
+/**
+ * An immutable map from bean name to bean, injected for {@code Map<String, T>} parameters.
+ * <p>
+ * The entries sit in a {@link FrozenTable}, so that a lookup by name takes no lock and allocates nothing, and iterate
+ * in {@code @Order}. Singletons are stored as is. The other beans are deferred: each map loads them on first access,
+ * through {@link #get}, iteration, {@code equals} or {@code hashCode}, and keeps them, so that a prototype is created
+ * once per map rather than on every read. {@link #view()} gives another map over the same entries with its own
+ * instances, and {@link #supplier} a way to load a new one on each call.
+ *
+ * @param <T> the type of the beans
+ */
+@Slf4j
+public final class BeanMap<T> extends AbstractMap<String, T> {
+
+    private final String[] names;
+    private final FrozenTable<String, Object> entries;
+    /**
+     * The deferred beans loaded by this map, by index of their entry, or {@code null} if it has none.
+     */
+    private final AtomicReferenceArray<Object> loaded;
+
+    private BeanMap(String[] names, FrozenTable<String, Object> entries, int deferredCount) {
+        this.names = names;
+        this.entries = entries;
+        this.loaded = deferredCount > 0 ? new AtomicReferenceArray<>(deferredCount) : null;
+    }
+
+    public static <T> Builder<T> builder() {
+        return new Builder<>();
+    }
+
+    /**
+     * Returns a map over the same entries that loads its own deferred beans, or this map if it has none.
+     */
+    public BeanMap<T> view() {
+        return loaded == null ? this : new BeanMap<>(names, entries, loaded.length());
+    }
+
+    /**
+     * Returns a supplier of the named bean, loading a new instance on each call for a deferred bean, or {@code null}
+     * if no bean has that name.
+     */
+    @SuppressWarnings("unchecked")
+    public Supplier<T> supplier(String name) {
+        Object entry = entries.get(name);
+        if (entry instanceof Deferred deferred) {
+            return (Supplier<T>) deferred.supplier();
+        }
+        return entry != null ? () -> (T) entry : null;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(Object name) {
+        Object entry = name != null ? entries.get(name) : null;
+        if (entry instanceof Deferred deferred) {
+            Object bean = loaded.get(deferred.index());
+            if (bean == null) {
+                // Threads racing on the first access keep the instance published first.
+                loaded.compareAndSet(deferred.index(), null, deferred.supplier().get());
+                bean = loaded.get(deferred.index());
+            }
+            return (T) bean;
+        }
+        return (T) entry;
+    }
+
+    @Override
+    public boolean containsKey(Object name) {
+        return name != null && entries.get(name) != null;
+    }
+
+    @Override
+    public int size() {
+        return names.length;
+    }
+
+    @Override
+    public Set<Entry<String, T>> entrySet() {
+        return new AbstractSet<>() {
+            @Override
+            public Iterator<Entry<String, T>> iterator() {
+                return new Iterator<>() {
+                    private int next;
+
+                    @Override
+                    public boolean hasNext() {
+                        return next < names.length;
+                    }
+
+                    @Override
+                    public Entry<String, T> next() {
+                        if (next >= names.length) {
+                            throw new NoSuchElementException();
+                        }
+                        String name = names[next++];
+                        return new SimpleImmutableEntry<>(name, get(name));
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return names.length;
+            }
+        };
+    }
+
+    /**
+     * A bean loaded on first access, told apart from the stored instances by its private type.
+     *
+     * @param index the slot of the loaded instance in each map
+     */
+    private record Deferred(int index, Supplier<?> supplier) {
+    }
+
+    /**
+     * Collects the entries of a {@link BeanMap}, in iteration order.
+     */
+    public static final class Builder<T> {
+
+        private final Map<String, Object> entries = new LinkedHashMap<>();
+        private int deferredCount;
+
+        private Builder() {
+        }
+
+        public Builder<T> put(String name, T bean) {
+            return add(name, Objects.requireNonNull(bean, name));
+        }
+
+        /**
+         * Adds a bean loaded by the given supplier on first access to each map.
+         */
+        public Builder<T> putDeferred(String name, Supplier<? extends T> supplier) {
+            add(name, new Deferred(deferredCount, supplier));
+            deferredCount++;
+            return this;
+        }
+
+        public BeanMap<T> build() {
+            return new BeanMap<>(entries.keySet().toArray(String[]::new), FrozenTable.copyOf(entries), deferredCount);
+        }
+
+        private Builder<T> add(String name, Object entry) {
+            if (entries.putIfAbsent(name, entry) != null) {
+                log.error("Two beans are named {}: they cannot be injected in the same Map", name);
+                throw new RuntimeException("Two beans are named " + name + ": they cannot be injected in the same Map");
+            }
+            return this;
+        }
+    }
+}
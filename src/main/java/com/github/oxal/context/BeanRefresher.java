@@ -0,0 +1,86 @@
+package com.github.oxal.context;
+
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.object.RefreshConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Supplier;
+
+/**
+ * Replaces the singletons of the {@code REFRESHABLE} beans of a context in the background, once their time to live
+ * has elapsed.
+ * <p>
+ * A replacement is built on a virtual thread while callers keep getting the current instance, then swapped into the
+ * singleton cache. A failed build keeps the current instance until the next period. Replaced instances that are
+ * {@link AutoCloseable} are closed after the grace period. The refreshes stop once another context has been loaded.
+ */
+@Slf4j
+final class BeanRefresher {
+
+    private final Context context;
+    private final Map<KeyDefinition, Boolean> scheduled = new ConcurrentHashMap<>();
+    private volatile ScheduledExecutorService executor;
+
+    BeanRefresher(Context context) {
+        this.context = context;
+    }
+
+    /**
+     * Schedules the periodic refresh of the given singleton, once per bean.
+     */
+    void schedule(KeyDefinition key, RefreshConfig config, Supplier<?> factory) {
+        if (scheduled.putIfAbsent(key, Boolean.TRUE) != null) {
+            return;
+        }
+        log.debug("Refreshing bean [{}] every {}ms", key, config.ttlMillis());
+        executor().scheduleWithFixedDelay(() -> refresh(key, config, factory),
+                config.ttlMillis(), config.ttlMillis(), TimeUnit.MILLISECONDS);
+    }
+
+    private void refresh(KeyDefinition key, RefreshConfig config, Supplier<?> factory) {
+        if (!ContextService.isCurrent(context)) {
+            log.debug("Context replaced, stopping the refresh of its beans");
+            executor.shutdown();
+            return;
+        }
+        Object replacement;
+        try {
+            replacement = factory.get();
+        } catch (RuntimeException e) {
+            log.error("Failed to refresh bean [{}], keeping the current instance", key, e);
+            return;
+        }
+        Object previous = context.replaceSingleton(key, replacement);
+        log.debug("Refreshed bean [{}]", key);
+        if (previous instanceof AutoCloseable closeable) {
+            executor.schedule(() -> close(key, closeable), config.graceMillis(), TimeUnit.MILLISECONDS);
+        }
+    }
+
+    private static void close(KeyDefinition key, AutoCloseable closeable) {
+        try {
+            closeable.close();
+        } catch (Exception e) {
+            log.warn("Failed to close replaced instance of bean [{}]", key, e);
+        }
+    }
+
+    private ScheduledExecutorService executor() {
+        ScheduledExecutorService current = executor;
+        if (current == null) {
+            synchronized (this) {
+                current = executor;
+                if (current == null) {
+                    current = Executors.newSingleThreadScheduledExecutor(Thread.ofVirtual().name("tiny-bean-refresher").factory());
+                    executor = current;
+                }
+            }
+        }
+        return current;
+    }
+}
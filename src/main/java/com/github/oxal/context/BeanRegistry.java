@@ -0,0 +1,121 @@
+package com.github.oxal.context;
+
+import com.github.oxal.object.KeyDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * Type and name index over the bean definitions of a {@link Context}.
+ * <p>
+ * Every registered definition is indexed under its own type and under all of its supertypes and interfaces,
+ * so looking up the candidates for a type costs O(candidates) instead of a scan over every definition.
+ * A secondary index by bean name serves {@code @Qualifier} lookups.
+ * <p>
+ * Once the context is loaded, {@link #freeze()} moves both indexes into {@link FrozenTable}s of immutable lists,
+ * which take no lock to read and less memory. Registering a definition afterwards thaws them back into concurrent maps.
+ */
+@Slf4j
+public class BeanRegistry {
+
+    private Map<Class<?>, List<KeyDefinition>> byType = new ConcurrentHashMap<>();
+    private Map<String, List<KeyDefinition>> byName = new ConcurrentHashMap<>();
+    private volatile Frozen frozen;
+
+    public void register(KeyDefinition key) {
+        thaw();
+        for (Class<?> type : hierarchyOf(key.getType())) {
+            byType.computeIfAbsent(type, t -> new CopyOnWriteArrayList<>()).add(key);
+        }
+        byName.computeIfAbsent(key.getName(), n -> new CopyOnWriteArrayList<>()).add(key);
+        log.trace("Indexed bean definition {}", key);
+    }
+
+    /**
+     * Returns every definition whose type is assignable to the given type, in registration order.
+     */
+    public List<KeyDefinition> candidates(Class<?> type) {
+        Frozen current = frozen;
+        if (current != null) {
+            return current.byType().getOrDefault(type, List.of());
+        }
+        return byType.getOrDefault(type, List.of());
+    }
+
+    /**
+     * Returns every definition registered under the given name whose type is assignable to the given type.
+     */
+    public List<KeyDefinition> candidates(Class<?> type, String name) {
+        Frozen current = frozen;
+        List<KeyDefinition> named = current != null ? current.byName().getOrDefault(name, List.of()) : byName.getOrDefault(name, List.of());
+        if (named.size() == 1) {
+            return type.isAssignableFrom(named.getFirst().getType()) ? named : List.of();
+        }
+        return named.stream().filter(key -> type.isAssignableFrom(key.getType())).toList();
+    }
+
+    public boolean containsName(String name) {
+        Frozen current = frozen;
+        return current != null ? current.byName().get(name) != null : byName.containsKey(name);
+    }
+
+    public synchronized void freeze() {
+        if (frozen != null) {
+            return;
+        }
+        frozen = new Frozen(FrozenTable.copyOf(byType, (type, keys) -> List.copyOf(keys)),
+                FrozenTable.copyOf(byName, (name, keys) -> List.copyOf(keys)));
+        byType = new ConcurrentHashMap<>();
+        byName = new ConcurrentHashMap<>();
+        log.debug("Bean registry frozen: {} types, {} names", frozen.byType().size(), frozen.byName().size());
+    }
+
+    public boolean isFrozen() {
+        return frozen != null;
+    }
+
+    /**
+     * Moves the frozen indexes back into concurrent maps. The maps are filled before the frozen indexes are dropped,
+     * so that concurrent lookups keep seeing every definition.
+     */
+    private synchronized void thaw() {
+        Frozen current = frozen;
+        if (current == null) {
+            return;
+        }
+        Map<Class<?>, List<KeyDefinition>> types = new ConcurrentHashMap<>();
+        current.byType().forEach((type, keys) -> types.put(type, new CopyOnWriteArrayList<>(keys)));
+        Map<String, List<KeyDefinition>> names = new ConcurrentHashMap<>();
+        current.byName().forEach((name, keys) -> names.put(name, new CopyOnWriteArrayList<>(keys)));
+        byType = types;
+        byName = names;
+        frozen = null;
+        log.debug("Bean registry thawed");
+    }
+
+    private static Set<Class<?>> hierarchyOf(Class<?> type) {
+        Set<Class<?>> hierarchy = new LinkedHashSet<>();
+        Deque<Class<?>> toVisit = new ArrayDeque<>();
+        toVisit.add(type);
+        while (!toVisit.isEmpty()) {
+            Class<?> current = toVisit.poll();
+            if (!hierarchy.add(current)) {
+                continue;
+            }
+            if (current.getSuperclass() != null) {
+                toVisit.add(current.getSuperclass());
+            }
+            toVisit.addAll(Arrays.asList(current.getInterfaces()));
+        }
+        // Interfaces do not report Object as their superclass, yet Object is assignable from them.
+        if (!type.isPrimitive()) {
+            hierarchy.add(Object.class);
+        }
+        return hierarchy;
+    }
+
+    private record Frozen(FrozenTable<Class<?>, List<KeyDefinition>> byType, FrozenTable<String, List<KeyDefinition>> byName) {
+    }
+}
@@ -1,15 +1,26 @@
 package com.github.oxal.context;
 
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.factory.InjectionPlan;
+import com.github.oxal.factory.InjectionPlanCompiler;
+import com.github.oxal.object.BeanDefinition;
 import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.object.RefreshConfig;
+import com.github.oxal.pool.BeanPool;
+import com.github.oxal.scanner.BeanDefinitionReader;
+import lombok.AccessLevel;
 import lombok.Builder;
 import lombok.Getter;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
-import java.util.List;
-import java.util.Map;
-import java.util.Set;
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 @Getter
 @Builder
@@ -17,21 +28,176 @@ import java.util.Set;
 public class Context {
     private final Class<?> application;
     private final String[] packages;
-    private final Map<KeyDefinition, Executable> beanDefinitions;
+    /**
+     * The definitions added since the last freeze: empty while the context is frozen.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Map<KeyDefinition, BeanDefinition> beanDefinitions;
+    /**
+     * The injection plans compiled since the last freeze.
+     */
+    @Getter(AccessLevel.NONE)
+    private volatile Map<KeyDefinition, InjectionPlan> injectionPlans;
+    private final BeanRegistry beanRegistry;
+    private final ResolutionCache resolutionCache;
+    /**
+     * The singletons created since the last freeze, the registered ones and those of the {@code REFRESHABLE} beans,
+     * which are replaced over time.
+     */
+    @Getter(AccessLevel.NONE)
     private final Map<KeyDefinition, Object> singletonInstances;
-    private final Set<KeyDefinition> beansInCreation;
     private final List<Method> beforeContextLoadCallbacks;
     private final List<Method> afterContextLoadCallbacks;
 
+    /**
+     * Singletons currently being created, with the thread creating them.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<KeyDefinition, SingletonCreation> singletonsInCreation = new ConcurrentHashMap<>();
+    /**
+     * For each thread waiting on another thread's singleton creation, the creation it waits on.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<Thread, SingletonCreation> waitingThreads = new ConcurrentHashMap<>();
+    /**
+     * The chain of beans being created by the current thread, used to detect circular dependencies.
+     */
+    @Getter(AccessLevel.NONE)
+    private final ThreadLocal<Deque<KeyDefinition>> creationPath = new ThreadLocal<>();
+    /**
+     * The singletons registered as instances through {@link #registerSingleton}, rather than created from a bean
+     * definition.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<KeyDefinition> registeredSingletons = ConcurrentHashMap.newKeySet();
+    /**
+     * The beans whose {@code @DependsOn} beans have been loaded, which only their first creation needs.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Set<KeyDefinition> dependsOnLoaded = ConcurrentHashMap.newKeySet();
+    /**
+     * The shared instances of the classes hosting {@code @Bean} methods, by host key.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<KeyDefinition, Object> hostInstances = new ConcurrentHashMap<>();
+    /**
+     * The pools of the {@code POOLED} beans, created on first use.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<KeyDefinition, BeanPool<?>> pools = new ConcurrentHashMap<>();
+    /**
+     * The instances of the {@code SOFT} and {@code WEAK} beans, which the garbage collector may reclaim.
+     */
+    @Getter(AccessLevel.NONE)
+    private final Map<KeyDefinition, ReclaimableInstance> reclaimableInstances = new ConcurrentHashMap<>();
+    /**
+     * Replaces the singletons of the {@code REFRESHABLE} beans in the background.
+     */
+    @Getter(AccessLevel.NONE)
+    private final BeanRefresher refresher = new BeanRefresher(this);
+    /**
+     * The definitions, injection plans and singletons of the beans once the context is frozen, read before the maps,
+     * which only hold what came after the freeze.
+     */
+    @Getter(AccessLevel.NONE)
+    private final AtomicReference<FrozenTable<KeyDefinition, FrozenBean>> frozenBeans = new AtomicReference<>();
+
     public void addBeanDefinition(KeyDefinition keyDefinition, Executable executable) {
-        log.debug("Adding bean definition: {}", keyDefinition);
-        if (keyDefinition.getName() != null && beanDefinitions.keySet().stream().anyMatch(k -> k.sameName(keyDefinition.getName()))) {
-            throw new RuntimeException("Duplicate bean name: " + keyDefinition.getName());
+        addBeanDefinition(BeanDefinitionReader.read(keyDefinition, executable));
+    }
+
+    /**
+     * Adds a bean definition. A definition without name is named after the simple name of its type.
+     */
+    public void addBeanDefinition(BeanDefinition definition) {
+        log.debug("Adding bean definition: {}", definition.key());
+        KeyDefinition key = definition.key();
+        if (key.getName() != null && beanRegistry.containsName(key.getName())) {
+            throw new RuntimeException("Duplicate bean name: " + key.getName());
+        }
+        if (key.getName() == null) {
+            definition = definition.withKey(key.withName(key.getType().getSimpleName()));
+        }
+        thaw();
+        beanDefinitions.put(definition.key(), definition);
+        beanRegistry.register(definition.key());
+        resolutionCache.clear();
+    }
+
+    /**
+     * Returns the bean definitions. While the context is frozen, this is a read-only copy.
+     */
+    public Map<KeyDefinition, BeanDefinition> getBeanDefinitions() {
+        FrozenTable<KeyDefinition, FrozenBean> beans = frozenBeans.get();
+        if (beans == null) {
+            return beanDefinitions;
+        }
+        Map<KeyDefinition, BeanDefinition> definitions = new HashMap<>(beanDefinitions);
+        beans.forEach((key, bean) -> definitions.put(key, bean.definition()));
+        return Collections.unmodifiableMap(definitions);
+    }
+
+    /**
+     * Returns the injection plans compiled so far. While the context is frozen, this is a read-only copy.
+     */
+    public Map<KeyDefinition, InjectionPlan> getInjectionPlans() {
+        FrozenTable<KeyDefinition, FrozenBean> beans = frozenBeans.get();
+        if (beans == null) {
+            return injectionPlans;
+        }
+        Map<KeyDefinition, InjectionPlan> plans = new HashMap<>(injectionPlans);
+        beans.forEach((key, bean) -> {
+            if (bean.plan() != null) {
+                plans.put(key, bean.plan());
+            }
+        });
+        return Collections.unmodifiableMap(plans);
+    }
+
+    /**
+     * Returns the singletons created or registered so far. While the context is frozen, this is a read-only copy.
+     */
+    public Map<KeyDefinition, Object> getSingletonInstances() {
+        FrozenTable<KeyDefinition, FrozenBean> beans = frozenBeans.get();
+        if (beans == null) {
+            return singletonInstances;
+        }
+        Map<KeyDefinition, Object> singletons = new HashMap<>(singletonInstances);
+        beans.forEach((key, bean) -> {
+            if (bean.singleton() != null) {
+                singletons.putIfAbsent(key, bean.singleton());
+            }
+        });
+        return Collections.unmodifiableMap(singletons);
+    }
+
+    public BeanDefinition getBeanDefinition(KeyDefinition key) {
+        FrozenBean frozen = frozenBean(key);
+        if (frozen != null) {
+            return frozen.definition();
         }
-        if (keyDefinition.getName() == null) {
-            keyDefinition.setName(keyDefinition.getType().getSimpleName());
+        BeanDefinition definition = beanDefinitions.get(key);
+        if (definition == null) {
+            throw new RuntimeException("No bean definition found for " + key);
         }
-        beanDefinitions.put(keyDefinition, executable);
+        return definition;
+    }
+
+    /**
+     * Returns the injection plan of the given bean definition, compiling it on first use.
+     */
+    public InjectionPlan getInjectionPlan(KeyDefinition key) {
+        FrozenBean frozen = frozenBean(key);
+        if (frozen != null && frozen.plan() != null) {
+            return frozen.plan();
+        }
+        Map<KeyDefinition, InjectionPlan> plans = injectionPlans;
+        InjectionPlan plan = plans.get(key);
+        if (plan == null) {
+            BeanDefinition definition = getBeanDefinition(key);
+            plan = plans.computeIfAbsent(key, k -> InjectionPlanCompiler.compile(definition, this));
+        }
+        return plan;
     }
 
     public void addBeanDefinitionByMethod(Class<?> clazz, Class<?> type, String methodName) {
@@ -58,38 +224,343 @@ public class Context {
         afterContextLoadCallbacks.add(callback);
     }
 
+    /**
+     * Registers an instance as a singleton. Unlike the singletons created from a bean definition, it takes part in the
+     * resolution of beans by type and name.
+     */
     public void registerSingleton(KeyDefinition key, Object instance) {
         log.debug("Registering singleton: {}", key);
+        thaw();
         singletonInstances.put(key, instance);
+        registeredSingletons.add(key);
+        resolutionCache.clear();
+    }
+
+    /**
+     * Returns whether the beans named by the {@code @DependsOn} of the given bean have been loaded.
+     */
+    public boolean isDependsOnLoaded(KeyDefinition key) {
+        return dependsOnLoaded.contains(key);
+    }
+
+    public void markDependsOnLoaded(KeyDefinition key) {
+        dependsOnLoaded.add(key);
+    }
+
+    /**
+     * Returns the keys of the singletons registered through {@link #registerSingleton}.
+     */
+    public Set<KeyDefinition> getRegisteredSingletons() {
+        return Collections.unmodifiableSet(registeredSingletons);
+    }
+
+    /**
+     * Returns the singleton registered under the given key, creating it with the given factory if needed.
+     * <p>
+     * Creation happens exactly once per key: threads asking for a singleton that is being created by another thread
+     * wait for that creation only, while lookups of other keys proceed. Waiting parks the thread instead of holding a
+     * monitor, so virtual threads are not pinned.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCreateSingleton(KeyDefinition key, Supplier<T> factory) {
+        Object existing = getSingleton(key);
+        if (existing != null) {
+            return (T) existing;
+        }
+        // The definition already resolves to this singleton: the resolution cache stays valid.
+        return getOrCreate(key, factory, singletonInstances);
+    }
+
+    /**
+     * Returns the shared instance of a class hosting {@code @Bean} methods, creating it with the given factory if
+     * needed, exactly once as for singletons. Hosts are kept apart from the singletons: they are not beans.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCreateHost(KeyDefinition key, Supplier<T> factory) {
+        Object existing = hostInstances.get(key);
+        if (existing != null) {
+            return (T) existing;
+        }
+        return getOrCreate(key, factory, hostInstances);
+    }
+
+    /**
+     * Returns the pool of the given {@code POOLED} bean, creating it with the given factory on first use. Creating a
+     * pool creates none of its instances.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BeanPool<T> getOrCreatePool(KeyDefinition key, Supplier<BeanPool<T>> factory) {
+        BeanPool<?> pool = pools.get(key);
+        if (pool == null) {
+            pool = pools.computeIfAbsent(key, k -> factory.get());
+        }
+        return (BeanPool<T>) pool;
+    }
+
+    /**
+     * Returns the instance of the given {@code SOFT} or {@code WEAK} bean, creating it with the given factory if it
+     * does not exist or has been reclaimed. A single thread creates it, the others waiting for it.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCreateReclaimable(KeyDefinition key, ScopeType scope, Supplier<T> factory) {
+        ReclaimableInstance instance = reclaimableInstances.get(key);
+        if (instance == null) {
+            instance = reclaimableInstances.computeIfAbsent(key, k -> new ReclaimableInstance(scope));
+        }
+        return (T) instance.getOrCreate(factory);
+    }
+
+    /**
+     * Returns the live instance of the given {@code SOFT} or {@code WEAK} bean, or {@code null}.
+     */
+    public Object getReclaimable(KeyDefinition key) {
+        ReclaimableInstance instance = reclaimableInstances.get(key);
+        return instance != null ? instance.get() : null;
+    }
+
+    /**
+     * Returns the evictions and rebuilds of the given {@code SOFT} or {@code WEAK} bean, all zero if it has never been
+     * loaded.
+     */
+    public ReclaimMetrics getReclaimMetrics(KeyDefinition key) {
+        ReclaimableInstance instance = reclaimableInstances.get(key);
+        return instance != null ? instance.metrics() : new ReclaimMetrics(0, 0);
+    }
+
+    /**
+     * Schedules the periodic replacement of the given {@code REFRESHABLE} singleton with an instance built by the given
+     * factory. Scheduling a bean more than once has no effect.
+     */
+    public void scheduleRefresh(KeyDefinition key, RefreshConfig config, Supplier<?> factory) {
+        refresher.schedule(key, config, factory);
+    }
+
+    /**
+     * Swaps the singleton registered under the given key for a new instance, returning the previous one. Readers see
+     * either instance, never none.
+     */
+    Object replaceSingleton(KeyDefinition key, Object instance) {
+        // REFRESHABLE singletons are never frozen: the map holds the current instance.
+        return singletonInstances.put(key, instance);
+    }
+
+    public Object getHost(KeyDefinition key) {
+        return hostInstances.get(key);
+    }
+
+    @SuppressWarnings("unchecked")
+    private <T> T getOrCreate(KeyDefinition key, Supplier<T> factory, Map<KeyDefinition, Object> instances) {
+        SingletonCreation creation = new SingletonCreation(key, Thread.currentThread(), new CompletableFuture<>());
+        SingletonCreation inFlight = singletonsInCreation.putIfAbsent(key, creation);
+        if (inFlight != null) {
+            log.debug("Waiting for singleton {} to be created by {}", key, inFlight.owner());
+            return (T) awaitSingleton(inFlight);
+        }
+
+        try {
+            // Another thread may have completed the creation between the lookup and the placeholder registration.
+            Object existing = instances.get(key);
+            if (existing != null) {
+                creation.future().complete(existing);
+                return (T) existing;
+            }
+            T instance = factory.get();
+            instances.put(key, instance);
+            creation.future().complete(instance);
+            return instance;
+        } catch (RuntimeException | Error e) {
+            creation.future().completeExceptionally(e);
+            throw e;
+        } finally {
+            singletonsInCreation.remove(key, creation);
+        }
+    }
+
+    public boolean isSingletonInCreation(KeyDefinition key) {
+        return singletonsInCreation.containsKey(key);
+    }
+
+    private Object awaitSingleton(SingletonCreation inFlight) {
+        Thread current = Thread.currentThread();
+        waitingThreads.put(current, inFlight);
+        try {
+            checkNoWaitCycle(inFlight);
+            return inFlight.future().join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Creation of singleton " + inFlight.key() + " failed", e.getCause());
+        } finally {
+            waitingThreads.remove(current);
+        }
+    }
+
+    /**
+     * Follows the chain of threads waiting on each other's creations. If it leads back to the current thread,
+     * the beans depend on each other and waiting would deadlock.
+     */
+    private void checkNoWaitCycle(SingletonCreation inFlight) {
+        Thread current = Thread.currentThread();
+        StringBuilder path = new StringBuilder(describeCreationPath());
+        SingletonCreation creation = inFlight;
+        for (int hops = 0; creation != null && hops <= waitingThreads.size(); hops++) {
+            path.append(" -> ").append(creation.key().getName()).append(" (in creation by ").append(creation.owner().getName()).append(')');
+            if (creation.owner() == current) {
+                log.error("Circular dependency detected: {}", path);
+                throw new RuntimeException("Circular dependency detected: " + path);
+            }
+            creation = waitingThreads.get(creation.owner());
+        }
     }
 
     public boolean isSingletonRegistered(KeyDefinition key) {
-        return singletonInstances.containsKey(key);
+        return getSingleton(key) != null;
     }
 
     public Object getSingleton(KeyDefinition key) {
+        FrozenBean frozen = frozenBean(key);
+        if (frozen != null && frozen.singleton() != null) {
+            return frozen.singleton();
+        }
         return singletonInstances.get(key);
     }
 
     public int getSingletonInstanceCount() {
-        return singletonInstances.size();
+        return getSingletonInstances().size();
     }
 
     public int getBeanDefinitionCount() {
-        return beanDefinitions.size();
+        FrozenTable<KeyDefinition, FrozenBean> beans = frozenBeans.get();
+        return beanDefinitions.size() + (beans == null ? 0 : beans.size());
+    }
+
+    /**
+     * Freezes the context into a read-optimized form, once it is loaded. The definitions, the compiled injection plans
+     * and the singletons created so far move into a {@link FrozenTable}, and the type index is frozen as well. The
+     * table is never written: plans compiled and singletons created afterwards go to the concurrent maps, which are
+     * emptied by the freeze and only read when the table has no value. Adding a bean definition or registering a
+     * singleton thaws the context.
+     */
+    public synchronized void freeze() {
+        if (frozenBeans.get() != null) {
+            return;
+        }
+        FrozenTable<KeyDefinition, FrozenBean> beans = FrozenTable.copyOf(beanDefinitions,
+                (key, definition) -> new FrozenBean(definition, injectionPlans.get(key),
+                        definition.scope() == ScopeType.REFRESHABLE ? null : singletonInstances.get(key)));
+        beanRegistry.freeze();
+        frozenBeans.set(beans);
+        // Readers find these entries in the table from now on: drop them from the maps, new ones go there.
+        beanDefinitions = new ConcurrentHashMap<>();
+        injectionPlans = new ConcurrentHashMap<>();
+        beans.forEach((key, bean) -> {
+            if (bean.singleton() != null) {
+                singletonInstances.remove(key, bean.singleton());
+            }
+        });
+        log.debug("Context frozen: {} bean definitions, {} singletons left in the map", beans.size(), singletonInstances.size());
+    }
+
+    public boolean isFrozen() {
+        return frozenBeans.get() != null;
+    }
+
+    /**
+     * Moves the frozen beans back into the concurrent maps. The maps are filled before the table is dropped, so that
+     * concurrent lookups keep seeing every bean.
+     */
+    private synchronized void thaw() {
+        FrozenTable<KeyDefinition, FrozenBean> beans = frozenBeans.get();
+        if (beans == null) {
+            return;
+        }
+        Map<KeyDefinition, BeanDefinition> definitions = new ConcurrentHashMap<>(beanDefinitions);
+        Map<KeyDefinition, InjectionPlan> plans = new ConcurrentHashMap<>(injectionPlans);
+        beans.forEach((key, bean) -> {
+            definitions.put(key, bean.definition());
+            if (bean.plan() != null) {
+                plans.putIfAbsent(key, bean.plan());
+            }
+            if (bean.singleton() != null) {
+                singletonInstances.putIfAbsent(key, bean.singleton());
+            }
+        });
+        beanDefinitions = definitions;
+        injectionPlans = plans;
+        frozenBeans.set(null);
+        log.debug("Context thawed");
+    }
+
+    private FrozenBean frozenBean(KeyDefinition key) {
+        FrozenTable<KeyDefinition, FrozenBean> beans = frozenBeans.get();
+        return beans == null ? null : beans.get(key);
     }
 
+    /**
+     * Pushes the given bean on the current thread's creation path.
+     *
+     * @throws RuntimeException if the bean is already being created by the current thread
+     */
     public void markAsInCreation(KeyDefinition key) {
         log.debug("Marking bean as in creation: {}", key);
-        beansInCreation.add(key);
+        checkNotInCreation(key);
+        Deque<KeyDefinition> path = creationPath.get();
+        if (path == null) {
+            path = new ArrayDeque<>();
+            creationPath.set(path);
+        }
+        path.addLast(key);
+    }
+
+    /**
+     * Fails with the full dependency path (A -> B -> A) if the given bean is already being created by the current
+     * thread. Beans being created by other threads are not cycles: their callers wait for the creation instead.
+     */
+    public void checkNotInCreation(KeyDefinition key) {
+        if (isBeanInCreation(key)) {
+            String cycle = describeCreationPath() + " -> " + key.getName();
+            log.error("Circular dependency detected: {}", cycle);
+            throw new RuntimeException("Circular dependency detected: " + cycle);
+        }
     }
 
     public void unmarkAsInCreation(KeyDefinition key) {
         log.debug("Unmarking bean as in creation: {}", key);
-        beansInCreation.remove(key);
+        Deque<KeyDefinition> path = creationPath.get();
+        if (path == null) {
+            return;
+        }
+        path.removeLastOccurrence(key);
+        if (path.isEmpty()) {
+            creationPath.remove();
+        }
     }
 
+    /**
+     * Tells whether the given bean is being created by the current thread.
+     */
     public boolean isBeanInCreation(KeyDefinition key) {
-        return beansInCreation.contains(key);
+        Deque<KeyDefinition> path = creationPath.get();
+        return path != null && path.contains(key);
+    }
+
+    private String describeCreationPath() {
+        Deque<KeyDefinition> path = creationPath.get();
+        if (path == null) {
+            return "";
+        }
+        StringJoiner joiner = new StringJoiner(" -> ");
+        path.forEach(key -> joiner.add(key.getName()));
+        return joiner.toString();
+    }
+
+    /**
+     * A bean of the frozen context, with its plan and singleton if they existed at the freeze, else {@code null}.
+     */
+    private record FrozenBean(BeanDefinition definition, InjectionPlan plan, Object singleton) {
+    }
+
+    private record SingletonCreation(KeyDefinition key, Thread owner, CompletableFuture<Object> future) {
     }
 }
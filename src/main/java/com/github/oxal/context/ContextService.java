@@ -22,7 +22,9 @@ public class ContextService {
                             .packages(packages)
                             .singletonInstances(new ConcurrentHashMap<>())
                             .beanDefinitions(new ConcurrentHashMap<>())
-                            .beansInCreation(ConcurrentHashMap.newKeySet())
+                            .injectionPlans(new ConcurrentHashMap<>())
+                            .beanRegistry(new BeanRegistry())
+                            .resolutionCache(new ResolutionCache())
                             .beforeContextLoadCallbacks(new ArrayList<>())
                             .afterContextLoadCallbacks(new ArrayList<>())
                             .build();
@@ -42,6 +44,13 @@ public class ContextService {
         }
     }
 
+    /**
+     * Whether the given context is the one loaded, and not one replaced since.
+     */
+    static boolean isCurrent(Context context) {
+        return instance == context;
+    }
+
     public static Context getContext() {
         if (instance == null) {
             throw new IllegalStateException("Context has not been initialized. Call createContexte first.");
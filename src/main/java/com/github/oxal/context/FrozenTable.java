@@ -0,0 +1,99 @@
+package com.github.oxal.context;
+
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+
+/**
+ * An immutable hash table with open addressing, built once from a map.
+ * <p>
+ * Keys and values sit side by side in a single array, probed linearly from the key's hash, and the table is never
+ * more than half full. Lookups take no lock and allocate nothing, and the table needs no node per entry, unlike a
+ * {@link java.util.concurrent.ConcurrentHashMap}.
+ */
+final class FrozenTable<K, V> {
+
+    private static final int GOLDEN_RATIO = 0x9E3779B9;
+
+    private final Object[] entries;
+    private final int shift;
+    private final int mask;
+    private int size;
+
+    private FrozenTable(int expectedSize) {
+        int capacity = Math.max(2, Integer.highestOneBit(Math.max(1, expectedSize) * 2 - 1) << 1);
+        this.entries = new Object[capacity * 2];
+        this.shift = Integer.SIZE - Integer.numberOfTrailingZeros(capacity);
+        this.mask = capacity - 1;
+    }
+
+    static <K, V> FrozenTable<K, V> copyOf(Map<K, ? extends V> source) {
+        return copyOf(source, (key, value) -> value);
+    }
+
+    /**
+     * Copies the given map, replacing each value with the one computed by the mapper. Entries mapped to {@code null}
+     * are left out.
+     */
+    static <K, S, V> FrozenTable<K, V> copyOf(Map<K, S> source, BiFunction<? super K, ? super S, ? extends V> mapper) {
+        FrozenTable<K, V> table = new FrozenTable<>(source.size());
+        source.forEach((key, value) -> {
+            V mapped = mapper.apply(key, value);
+            if (mapped != null) {
+                table.insert(key, mapped);
+            }
+        });
+        return table;
+    }
+
+    @SuppressWarnings("unchecked")
+    V get(Object key) {
+        for (int slot = slotOf(key); ; slot = (slot + 1) & mask) {
+            Object candidate = entries[slot * 2];
+            if (candidate == null) {
+                return null;
+            }
+            if (candidate == key || candidate.equals(key)) {
+                return (V) entries[slot * 2 + 1];
+            }
+        }
+    }
+
+    V getOrDefault(Object key, V defaultValue) {
+        V value = get(key);
+        return value != null ? value : defaultValue;
+    }
+
+    int size() {
+        return size;
+    }
+
+    @SuppressWarnings("unchecked")
+    void forEach(BiConsumer<? super K, ? super V> action) {
+        for (int i = 0; i < entries.length; i += 2) {
+            if (entries[i] != null) {
+                action.accept((K) entries[i], (V) entries[i + 1]);
+            }
+        }
+    }
+
+    /**
+     * Only called while the table is being built, before it is published.
+     */
+    private void insert(K key, V value) {
+        int slot = slotOf(key);
+        while (entries[slot * 2] != null && !entries[slot * 2].equals(key)) {
+            slot = (slot + 1) & mask;
+        }
+        if (entries[slot * 2] == null) {
+            size++;
+        }
+        entries[slot * 2] = key;
+        entries[slot * 2 + 1] = value;
+    }
+
+    private int slotOf(Object key) {
+        int hash = key instanceof Class<?> ? System.identityHashCode(key) : key.hashCode();
+        return (hash * GOLDEN_RATIO) >>> shift;
+    }
+}
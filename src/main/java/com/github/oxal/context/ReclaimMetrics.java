@@ -0,0 +1,10 @@
+package com.github.oxal.context;
+
+/**
+ * The activity of a {@code SOFT} or {@code WEAK} bean.
+ *
+ * @param evictions the instances reclaimed by the garbage collector
+ * @param rebuilds  the instances created again after one was reclaimed
+ */
+public record ReclaimMetrics(long evictions, long rebuilds) {
+}
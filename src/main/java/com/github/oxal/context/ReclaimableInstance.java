@@ -0,0 +1,82 @@
+package com.github.oxal.context;
+
+import com.github.oxal.annotation.ScopeType;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.ref.Reference;
+import java.lang.ref.SoftReference;
+import java.lang.ref.WeakReference;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.Supplier;
+
+/**
+ * The instance of a {@code SOFT} or {@code WEAK} bean, held through a reference the garbage collector may clear, and
+ * recreated on the next lookup once it has been.
+ * <p>
+ * Lookups of a live instance take no lock. Creating the instance takes a lock, so that a single thread rebuilds it
+ * while the others wait for it; the lock parks waiting threads instead of pinning virtual threads.
+ */
+@Slf4j
+final class ReclaimableInstance {
+
+    private final ScopeType scope;
+    private final ReentrantLock lock = new ReentrantLock();
+    private final LongAdder evictions = new LongAdder();
+    private final LongAdder rebuilds = new LongAdder();
+    private volatile Reference<Object> reference;
+    /**
+     * Whether an instance has been created before, guarded by the lock.
+     */
+    private boolean created;
+
+    ReclaimableInstance(ScopeType scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Returns the instance, or {@code null} if it has not been created yet or has been reclaimed.
+     */
+    Object get() {
+        Reference<Object> current = reference;
+        return current != null ? current.get() : null;
+    }
+
+    Object getOrCreate(Supplier<?> factory) {
+        Object instance = get();
+        if (instance != null) {
+            return instance;
+        }
+        lock.lock();
+        try {
+            Reference<Object> current = reference;
+            instance = current != null ? current.get() : null;
+            if (instance != null) {
+                return instance;
+            }
+            if (current != null) {
+                log.debug("Instance of {} bean was reclaimed, rebuilding it", scope);
+                evictions.increment();
+                reference = null;
+            }
+            instance = factory.get();
+            reference = scope == ScopeType.WEAK ? new WeakReference<>(instance) : new SoftReference<>(instance);
+            if (created) {
+                rebuilds.increment();
+            }
+            created = true;
+            return instance;
+        } finally {
+            lock.unlock();
+        }
+    }
+
+    /**
+     * Counts an instance reclaimed but not looked up since as evicted.
+     */
+    ReclaimMetrics metrics() {
+        Reference<Object> current = reference;
+        long pending = current != null && current.get() == null ? 1 : 0;
+        return new ReclaimMetrics(evictions.sum() + pending, rebuilds.sum());
+    }
+}
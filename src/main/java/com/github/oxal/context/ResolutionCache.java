@@ -0,0 +1,174 @@
+package com.github.oxal.context;
+
+import com.github.oxal.object.KeyDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Memoizes the outcome of {@code (type, name)} bean lookups.
+ * <p>
+ * Once the context is loaded, the answer for a given lookup never changes, so it is computed once and then served
+ * from this cache. The context clears it whenever a bean definition is added or a singleton instance is registered.
+ */
+@Slf4j
+public class ResolutionCache {
+
+    private final Map<Class<?>, Resolution> unqualified = new ConcurrentHashMap<>();
+    private final Map<Class<?>, Map<String, Resolution>> qualified = new ConcurrentHashMap<>();
+    private final Map<Class<?>, CollectionResolution> collections = new ConcurrentHashMap<>();
+    private final Map<Class<?>, BeanMap<?>> beanMaps = new ConcurrentHashMap<>();
+    private final AtomicLong generation = new AtomicLong();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    public Resolution get(Class<?> type, String name) {
+        Resolution resolution;
+        if (name == null) {
+            resolution = unqualified.get(type);
+        } else {
+            Map<String, Resolution> byName = qualified.get(type);
+            resolution = byName == null ? null : byName.get(name);
+        }
+        if (resolution == null) {
+            misses.increment();
+        } else {
+            hits.increment();
+        }
+        return resolution;
+    }
+
+    /**
+     * Returns the current generation, to be passed back to {@link #put} once the resolution has been computed.
+     */
+    public long generation() {
+        return generation.get();
+    }
+
+    /**
+     * Stores a resolution computed while the cache was at the given generation.
+     * The resolution is dropped if the cache has been cleared in the meantime, as it may be stale.
+     */
+    public void put(Class<?> type, String name, Resolution resolution, long observedGeneration) {
+        if (generation.get() != observedGeneration) {
+            return;
+        }
+        Map<?, Resolution> target;
+        if (name == null) {
+            unqualified.put(type, resolution);
+            target = unqualified;
+        } else {
+            Map<String, Resolution> byName = qualified.computeIfAbsent(type, t -> new ConcurrentHashMap<>());
+            byName.put(name, resolution);
+            target = byName;
+        }
+        if (generation.get() != observedGeneration) {
+            // A concurrent clear() may have run between the check and the put.
+            target.remove(name == null ? type : name, resolution);
+        }
+    }
+
+    /**
+     * Returns the resolution of every bean of the given type, or {@code null} if it has not been computed.
+     */
+    public CollectionResolution getAll(Class<?> type) {
+        return collections.get(type);
+    }
+
+    /**
+     * Stores the resolution of every bean of a type, computed while the cache was at the given generation. As for
+     * {@link #put}, the resolution is dropped if the cache has been cleared in the meantime.
+     */
+    public void putAll(Class<?> type, CollectionResolution resolution, long observedGeneration) {
+        if (generation.get() != observedGeneration) {
+            return;
+        }
+        collections.put(type, resolution);
+        if (generation.get() != observedGeneration) {
+            collections.remove(type, resolution);
+        }
+    }
+
+    /**
+     * Returns the map of the beans of the given type by name, or {@code null} if it has not been built.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> BeanMap<T> getMap(Class<T> type) {
+        return (BeanMap<T>) beanMaps.get(type);
+    }
+
+    /**
+     * Stores the map of the beans of a type by name, built while the cache was at the given generation.
+     */
+    public void putMap(Class<?> type, BeanMap<?> beanMap, long observedGeneration) {
+        if (generation.get() != observedGeneration) {
+            return;
+        }
+        beanMaps.put(type, beanMap);
+        if (generation.get() != observedGeneration) {
+            beanMaps.remove(type, beanMap);
+        }
+    }
+
+    public void clear() {
+        generation.incrementAndGet();
+        unqualified.clear();
+        qualified.clear();
+        collections.clear();
+        beanMaps.clear();
+        log.trace("Resolution cache cleared");
+    }
+
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * The outcome of a lookup: either a registered singleton that can be returned as is, or the key of the bean
+     * definition to load.
+     */
+    public record Resolution(KeyDefinition key, Object singleton) {
+
+        public static Resolution ofSingleton(Object singleton) {
+            return new Resolution(null, singleton);
+        }
+
+        public static Resolution ofKey(KeyDefinition key) {
+            return new Resolution(key, null);
+        }
+
+        public boolean isSingleton() {
+            return key == null;
+        }
+    }
+
+    /**
+     * The outcome of a lookup of every bean of a type, in {@code @Order}: either immutable snapshots of the instances,
+     * when they are all singletons and so never change, or the keys of the beans to load on each lookup.
+     */
+    public record CollectionResolution(List<KeyDefinition> keys, List<Object> list, Set<Object> set) {
+
+        public static CollectionResolution ofSnapshot(List<Object> instances) {
+            return new CollectionResolution(null, instances, Collections.unmodifiableSet(new LinkedHashSet<>(instances)));
+        }
+
+        public static CollectionResolution ofKeys(List<KeyDefinition> keys) {
+            return new CollectionResolution(keys, null, null);
+        }
+
+        public boolean isSnapshot() {
+            return keys == null;
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package com.github.oxal.factory;
+
+/**
+ * Produces the value of one parameter of a bean constructor, {@code @Bean} method or callback.
+ * <p>
+ * Resolvers are built once by {@link InjectionPlanCompiler}, which does all the reflective work up front
+ * (qualifier lookup, collection detection, generic type parsing), so resolving an argument only loads the bean.
+ */
+@FunctionalInterface
+public interface ArgumentResolver {
+    Object resolve();
+}
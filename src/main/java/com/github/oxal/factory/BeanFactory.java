@@ -1,19 +1,28 @@
 package com.github.oxal.factory;
 
 import com.github.oxal.annotation.Configuration;
+import com.github.oxal.context.Context;
+import com.github.oxal.context.ContextService;
 import com.github.oxal.injector.ConfigurationInjector;
+import com.github.oxal.object.KeyDefinition;
 import com.github.oxal.runner.ApplicationRunner;
 import lombok.extern.slf4j.Slf4j;
 
-import java.lang.reflect.*;
-import java.util.HashSet;
-import java.util.List;
-import java.util.Set;
-import java.util.function.BiFunction;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.Optional;
 
 @Slf4j
 public class BeanFactory {
 
+    private static final ClassValue<Optional<String>> CONFIGURATION_PREFIXES = new ClassValue<>() {
+        @Override
+        protected Optional<String> computeValue(Class<?> type) {
+            return Optional.ofNullable(type.getAnnotation(Configuration.class)).map(Configuration::prefix);
+        }
+    };
+
     public static <T> T loadBean(Class<T> beanClass, String beanName) {
         return ApplicationRunner.loadBean(beanClass, beanName);
     }
@@ -24,123 +33,80 @@ public class BeanFactory {
 
     public static <T> T createBeanInstance(Executable executable) {
         log.trace("createBeanInstance called for executable: {}", executable);
-        if (executable instanceof Method method) {
-            return loadBeanByMethod(method);
-        } else if (executable instanceof Constructor<?> constructor) {
-            return (T) loadBeanByConstructor(constructor);
+        if (!(executable instanceof Method) && !(executable instanceof Constructor<?>)) {
+            log.error("Unsupported executable type: {}", executable.getClass().getName());
+            throw new IllegalStateException("Unsupported executable type: " + executable.getClass().getName());
         }
-        log.error("Unsupported executable type: {}", executable.getClass().getName());
-        throw new IllegalStateException("Unsupported executable type: " + executable.getClass().getName());
+        return createBeanInstance(InjectionPlanCompiler.compile(executable));
     }
 
-    private static <T> T processLoad(Executable executable, BiFunction<Object, Object[], T> invocation) {
+    @SuppressWarnings("unchecked")
+    public static <T> T createBeanInstance(InjectionPlan plan) {
+        Executable executable = plan.getExecutable();
         log.debug("Resolving dependencies for '{}'", executable.getName());
 
-        Class<?> classContainer = executable.getDeclaringClass();
-        Object instance = null;
-
-        if (executable instanceof Method) {
-            try {
-                Constructor<?> c = classContainer.getDeclaredConstructor();
-                c.setAccessible(true);
-                instance = c.newInstance();
-            } catch (NoSuchMethodException e) {
-                log.error("Class {} must have a no-arg constructor to host @Bean methods.", classContainer.getSimpleName(), e);
-                throw new RuntimeException(classContainer.getSimpleName() + " must have a no-arg constructor to host @Bean methods.", e);
-            } catch (Exception e) {
-                log.error("Failed to instantiate configuration class {}", classContainer.getSimpleName(), e);
-                throw new RuntimeException("Failed to instantiate configuration class " + classContainer.getSimpleName(), e);
-            }
+        if (!plan.getDependsOn().isEmpty()) {
+            loadDependsOn(plan);
         }
-
+        Object host = plan.getHost() != null ? ApplicationRunner.loadHost(plan.getHost()) : null;
+        T bean;
         try {
-            Object[] args = resolveArguments(executable);
+            Object[] args = plan.resolveArguments();
             log.debug("All dependencies resolved. Invoking executable...");
-            return invocation.apply(instance, args);
+            bean = (T) invoke(plan, host, args);
         } catch (Exception e) {
             log.error("Failed to resolve dependencies for {}", executable.getDeclaringClass().getName(), e);
             throw new RuntimeException("Failed to resolve dependencies for " + executable.getDeclaringClass().getName(), e);
         }
+        injectConfigurationProperties(bean, plan);
+        return bean;
     }
 
     public static Object[] resolveArguments(Executable executable) {
-        Parameter[] parameters = executable.getParameters();
-        Object[] args = new Object[parameters.length];
-
-        for (int i = 0; i < parameters.length; i++) {
-            Parameter parameter = parameters[i];
-            com.github.oxal.annotation.Qualifier qualifier = parameter.getAnnotation(com.github.oxal.annotation.Qualifier.class);
-            String qualifierName = (qualifier != null) ? qualifier.value() : null;
-
-            if (List.class.isAssignableFrom(parameter.getType())) {
-                args[i] = loadBeanByParameter(parameter, i);
-            } else if (Set.class.isAssignableFrom(parameter.getType())) {
-                List<?> list = loadBeanByParameter(parameter, i);
-                Set<?> set = new HashSet<>(list == null ? List.of() : list);
-                args[i] = set;
-            } else {
-                // Standard single bean injection
-                log.trace("Loading dependency #{}: type={}, qualifier='{}'", i, parameter.getType().getName(), qualifierName);
-                args[i] = ApplicationRunner.loadBean(parameter.getType(), qualifierName);
-            }
+        ArgumentResolver[] resolvers = InjectionPlanCompiler.compileArguments(executable);
+        Object[] args = new Object[resolvers.length];
+        for (int i = 0; i < resolvers.length; i++) {
+            args[i] = resolvers[i].resolve();
         }
         return args;
     }
 
-    private static List<?> loadBeanByParameter(Parameter parameter, int i) {
-        Type genericType = parameter.getParameterizedType();
-        if (genericType instanceof ParameterizedType) {
-            Type actualTypeArgument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
-            if (actualTypeArgument instanceof Class) {
-                Class<?> beanType = (Class<?>) actualTypeArgument;
-                log.trace("Loading list of beans for dependency #{}: List<{}>", i, beanType.getSimpleName());
-                return ApplicationRunner.loadBeans(beanType);
+    private static void loadDependsOn(InjectionPlan plan) {
+        Context context = ContextService.getContext();
+        // The named beans are loaded once per definition: being shared, they exist for the creations that follow.
+        if (!context.isDependsOnLoaded(plan.getKey())) {
+            for (KeyDefinition dependency : plan.getDependsOn()) {
+                log.trace("Loading bean {} first, as required by @DependsOn", dependency);
+                ApplicationRunner.loadBean(dependency);
             }
-            log.warn("Complex generic type for List injection not fully supported: {}", actualTypeArgument);
-        } else {
-            log.warn("List injection without generic type is not supported. Use List<Type>.");
+            context.markDependsOnLoaded(plan.getKey());
         }
-
-        return null;
-    }
-
-    private static <T> T loadBeanByMethod(Method method) {
-        return processLoad(method, (instance, args) -> {
-            try {
-                method.setAccessible(true);
-                T bean = (T) method.invoke(instance, args);
-                log.trace("Successfully invoked @Bean method: {}", method.getName());
-                injectConfigurationProperties(bean);
-                return bean;
-            } catch (IllegalAccessException | InvocationTargetException e) {
-                log.error("Failed to invoke @Bean method: {}", method.getName(), e);
-                throw new RuntimeException("Failed to invoke @Bean method: " + method.getName(), e);
-            }
-        });
     }
 
-    private static <T> T loadBeanByConstructor(Constructor<T> constructor) {
-        return processLoad(constructor, (instance, args) -> {
-            try {
-                constructor.setAccessible(true);
-                T bean = constructor.newInstance(args);
-                log.trace("Successfully invoked constructor: {}", constructor.getName());
-                injectConfigurationProperties(bean);
-                return bean;
-            } catch (InstantiationException | IllegalAccessException | InvocationTargetException e) {
-                log.error("Failed to invoke constructor: {}", constructor.getName(), e);
-                throw new RuntimeException("Failed to invoke constructor: " + constructor.getName(), e);
-            }
-        });
+    private static Object invoke(InjectionPlan plan, Object host, Object[] args) {
+        Executable executable = plan.getExecutable();
+        String kind = executable instanceof Method ? "@Bean method" : "constructor";
+        try {
+            Object bean = plan.getInstantiator().instantiate(host, args);
+            log.trace("Successfully invoked {}: {}", kind, executable.getName());
+            return bean;
+        } catch (Error e) {
+            throw e;
+        } catch (Throwable e) {
+            log.error("Failed to invoke {}: {}", kind, executable.getName(), e);
+            throw new RuntimeException("Failed to invoke " + kind + ": " + executable.getName(), e);
+        }
     }
 
-    private static void injectConfigurationProperties(Object bean) {
+    private static void injectConfigurationProperties(Object bean, InjectionPlan plan) {
         if (bean == null) return;
-        Class<?> beanClass = bean.getClass();
-        if (beanClass.isAnnotationPresent(Configuration.class)) {
-            Configuration config = beanClass.getAnnotation(Configuration.class);
-            String prefix = config.prefix();
-            log.debug("Injecting configuration properties for bean '{}' with prefix '{}'", beanClass.getSimpleName(), prefix);
+        String prefix = plan.getConfigurationPrefix();
+        if (prefix == null && plan.isFactoryMethod()) {
+            // A @Bean method may return a configuration class more specific than its declared return type.
+            prefix = CONFIGURATION_PREFIXES.get(bean.getClass()).orElse(null);
+        }
+        if (prefix != null) {
+            log.debug("Injecting configuration properties for bean '{}' with prefix '{}'", bean.getClass().getSimpleName(), prefix);
             ConfigurationInjector.inject(bean, prefix);
         }
     }
@@ -0,0 +1,18 @@
+package com.github.oxal.factory;
+
+/**
+ * Invokes a bean constructor or {@code @Bean} method with already resolved arguments.
+ * <p>
+ * Implementations are built once per {@link InjectionPlan} by {@link BeanInstantiators}.
+ */
+@FunctionalInterface
+public interface BeanInstantiator {
+
+    /**
+     * @param host the instance hosting a {@code @Bean} method, ignored for constructors and static methods
+     * @param args the resolved arguments
+     * @return the created bean
+     * @throws Throwable whatever the constructor or method throws, unwrapped
+     */
+    Object instantiate(Object host, Object[] args) throws Throwable;
+}
@@ -0,0 +1,104 @@
+package com.github.oxal.factory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.*;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.function.Supplier;
+
+/**
+ * Builds {@link BeanInstantiator}s that avoid reflection on the creation path.
+ * <p>
+ * Factories generated at compile time by {@code tiny-bean-processor} are preferred, as they call the constructor or
+ * method directly. Otherwise, no-arg constructors are turned into a {@link Supplier} spun by {@link LambdaMetafactory}, which the JIT inlines
+ * like a plain {@code new}. Other constructors and {@code @Bean} methods go through a {@link MethodHandle} adapted
+ * once to the {@code (Object, Object[])Object} shape. Reflection remains the fallback when a handle cannot be
+ * obtained, for instance for classes of a module that is not open to Tiny-Bean.
+ */
+@Slf4j
+public class BeanInstantiators {
+
+    private static final MethodType INSTANTIATOR_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    public static BeanInstantiator of(Executable executable) {
+        BeanInstantiator generated = GeneratedFactories.find(executable);
+        if (generated != null) {
+            return generated;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(executable.getDeclaringClass(), MethodHandles.lookup());
+            if (executable instanceof Constructor<?> constructor && constructor.getParameterCount() == 0) {
+                return ofSupplier(lookup, constructor);
+            }
+            return ofMethodHandle(lookup, executable);
+        } catch (ReflectiveOperationException | LambdaConversionException | RuntimeException e) {
+            log.debug("Falling back to reflection to instantiate '{}': {}", executable, e.toString());
+            return ofReflection(executable);
+        }
+    }
+
+    private static BeanInstantiator ofSupplier(MethodHandles.Lookup lookup, Constructor<?> constructor)
+            throws IllegalAccessException, LambdaConversionException {
+        MethodHandle handle = lookup.unreflectConstructor(constructor);
+        CallSite site = LambdaMetafactory.metafactory(lookup, "get",
+                MethodType.methodType(Supplier.class),
+                MethodType.methodType(Object.class),
+                handle,
+                MethodType.methodType(constructor.getDeclaringClass()));
+        Supplier<?> supplier;
+        try {
+            supplier = (Supplier<?>) site.getTarget().invokeExact();
+        } catch (RuntimeException | Error e) {
+            throw e;
+        } catch (Throwable e) {
+            // The factory of a non-capturing lambda declares no exception.
+            throw new LambdaConversionException("Unable to spin a supplier for " + constructor, e);
+        }
+        return (host, args) -> supplier.get();
+    }
+
+    private static BeanInstantiator ofMethodHandle(MethodHandles.Lookup lookup, Executable executable) throws IllegalAccessException {
+        int parameterCount = executable.getParameterCount();
+        MethodHandle handle;
+        boolean hasReceiver;
+        if (executable instanceof Method method) {
+            handle = lookup.unreflect(method);
+            hasReceiver = !Modifier.isStatic(method.getModifiers());
+        } else {
+            handle = lookup.unreflectConstructor((Constructor<?>) executable);
+            hasReceiver = false;
+        }
+
+        handle = handle.asSpreader(Object[].class, parameterCount);
+        if (!hasReceiver) {
+            handle = MethodHandles.dropArguments(handle, 0, Object.class);
+        }
+        MethodHandle invoker = handle.asType(INSTANTIATOR_TYPE);
+        return (host, args) -> invoker.invokeExact(host, args);
+    }
+
+    private static BeanInstantiator ofReflection(Executable executable) {
+        executable.setAccessible(true);
+        if (executable instanceof Method method) {
+            return (host, args) -> {
+                try {
+                    return method.invoke(host, args);
+                } catch (InvocationTargetException e) {
+                    throw e.getCause();
+                }
+            };
+        }
+        Constructor<?> constructor = (Constructor<?>) executable;
+        return (host, args) -> {
+            try {
+                return constructor.newInstance(args);
+            } catch (InvocationTargetException e) {
+                throw e.getCause();
+            }
+        };
+    }
+}
@@ -0,0 +1,91 @@
+package com.github.oxal.factory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.*;
+
+/**
+ * Looks up the {@link BeanInstantiator}s generated at compile time by {@code tiny-bean-processor}.
+ * <p>
+ * Each line of {@value #LOCATION} is {@code <executable key>=<factory class>}, see {@link #key(Executable)}. The
+ * indexes visible from a class loader are read once and kept for as long as the class loader lives.
+ */
+@Slf4j
+public class GeneratedFactories {
+
+    public static final String LOCATION = "META-INF/tiny-bean/factories.index";
+
+    private static final Map<ClassLoader, Map<String, String>> INDEXES = Collections.synchronizedMap(new WeakHashMap<>());
+
+    /**
+     * @return the generated factory of the given constructor or {@code @Bean} method, or {@code null} if there is none
+     */
+    public static BeanInstantiator find(Executable executable) {
+        ClassLoader classLoader = executable.getDeclaringClass().getClassLoader();
+        if (classLoader == null) {
+            return null;
+        }
+        String factoryName = INDEXES.computeIfAbsent(classLoader, GeneratedFactories::load).get(key(executable));
+        if (factoryName == null) {
+            return null;
+        }
+
+        try {
+            Class<?> factoryClass = Class.forName(factoryName, true, classLoader);
+            log.trace("Using generated factory {} for '{}'", factoryName, executable);
+            return (BeanInstantiator) factoryClass.getDeclaredConstructor().newInstance();
+        } catch (ReflectiveOperationException | ClassCastException | LinkageError e) {
+            log.warn("Ignoring generated factory {} for '{}': {}", factoryName, executable, e.toString());
+            return null;
+        }
+    }
+
+    /**
+     * The key of an executable in the index: the binary name of its declaring class, {@code #}, its name or
+     * {@code <init>} for constructors, and its parameter types, e.g. {@code com.acme.Service#<init>(com.acme.Dao)}.
+     */
+    public static String key(Executable executable) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (Class<?> parameterType : executable.getParameterTypes()) {
+            parameters.add(parameterType.getTypeName());
+        }
+        String name = executable instanceof Constructor<?> ? "<init>" : executable.getName();
+        return executable.getDeclaringClass().getName() + "#" + name + parameters;
+    }
+
+    private static Map<String, String> load(ClassLoader classLoader) {
+        Map<String, String> factories = new HashMap<>();
+        try {
+            for (URL resource : Collections.list(classLoader.getResources(LOCATION))) {
+                log.debug("Reading generated factories index {}", resource);
+                try (InputStream input = resource.openStream()) {
+                    read(input, factories);
+                }
+            }
+        } catch (IOException e) {
+            log.warn("Unable to read generated factories indexes, falling back to method handles", e);
+        }
+        return factories;
+    }
+
+    private static void read(InputStream input, Map<String, String> factories) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            int separator = line.lastIndexOf('=');
+            if (line.isEmpty() || line.startsWith("#") || separator < 0) {
+                continue;
+            }
+            factories.putIfAbsent(line.substring(0, separator), line.substring(separator + 1));
+        }
+    }
+}
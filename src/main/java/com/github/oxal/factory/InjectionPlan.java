@@ -0,0 +1,67 @@
+package com.github.oxal.factory;
+
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.object.KeyDefinition;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.util.List;
+
+/**
+ * Immutable recipe to create one bean, compiled once per bean definition by {@link InjectionPlanCompiler}.
+ * <p>
+ * It holds everything {@link BeanFactory#createBeanInstance(InjectionPlan)} needs, so creating a bean involves
+ * no annotation lookup, no generic type parsing and no {@code setAccessible} call.
+ */
+@Getter
+@Builder
+public class InjectionPlan {
+    private final KeyDefinition key;
+    private final Executable executable;
+    private final ScopeType scope;
+    private final boolean primary;
+    /**
+     * Whether the bean is {@code @Lazy}, and so left out of eager initialization.
+     */
+    private final boolean lazy;
+    /**
+     * The {@code @Configuration} prefix of the created bean, or {@code null} if its declared type is not a
+     * configuration class.
+     */
+    private final String configurationPrefix;
+    /**
+     * The plan creating the instance hosting a {@code @Bean} method, or {@code null} for constructor beans and static
+     * methods.
+     */
+    private final InjectionPlan host;
+    private final BeanInstantiator instantiator;
+    /**
+     * The dependencies injected into the bean, in parameter order.
+     */
+    private final List<InjectionPoint> injectionPoints;
+    /**
+     * The beans to create first, named by {@code @DependsOn}. Only those of a shared scope are kept.
+     */
+    private final List<KeyDefinition> dependsOn;
+    @Getter(AccessLevel.NONE)
+    private final ArgumentResolver[] arguments;
+
+    public boolean isFactoryMethod() {
+        return executable instanceof Method;
+    }
+
+    public int getArgumentCount() {
+        return arguments.length;
+    }
+
+    public Object[] resolveArguments() {
+        Object[] args = new Object[arguments.length];
+        for (int i = 0; i < arguments.length; i++) {
+            args[i] = arguments[i].resolve();
+        }
+        return args;
+    }
+}
@@ -0,0 +1,248 @@
+package com.github.oxal.factory;
+
+import com.github.oxal.annotation.DependsOn;
+import com.github.oxal.annotation.Lazy;
+import com.github.oxal.annotation.Qualifier;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.Context;
+import com.github.oxal.context.ContextService;
+import com.github.oxal.object.BeanDefinition;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.pool.BeanPool;
+import com.github.oxal.provider.Provider;
+import com.github.oxal.resolver.BeanDefinitionResolver;
+import com.github.oxal.runner.ApplicationRunner;
+import com.github.oxal.scanner.BeanDefinitionReader;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.reflect.*;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Compiles bean constructors and {@code @Bean} methods into {@link InjectionPlan}s.
+ */
+@Slf4j
+public class InjectionPlanCompiler {
+
+    public static InjectionPlan compile(Executable executable) {
+        Class<?> type = executable instanceof Method method ? method.getReturnType() : executable.getDeclaringClass();
+        return compile(BeanDefinitionReader.read(KeyDefinition.builder().type(type).build(), executable));
+    }
+
+    /**
+     * Compiles the plan of a bean of the given context, checking that it does not expect a {@code POOLED} bean as a
+     * plain dependency: those can only be borrowed from their pool.
+     */
+    public static InjectionPlan compile(BeanDefinition definition, Context context) {
+        InjectionPlan plan = build(definition, context);
+        checkNoPooledDependency(plan, context);
+        return plan;
+    }
+
+    public static InjectionPlan compile(BeanDefinition definition) {
+        return build(definition, null);
+    }
+
+    /**
+     * @param context the context resolving the names of {@code @DependsOn}, or {@code null} for the current one,
+     *                only looked up when the bean depends on other beans
+     */
+    private static InjectionPlan build(BeanDefinition definition, Context context) {
+        Executable executable = definition.executable();
+        log.debug("Compiling injection plan for '{}'", executable);
+        executable.setAccessible(true);
+        BeanDefinition host = executable instanceof Method method ? BeanDefinitionReader.readHost(method) : null;
+        InjectionPoint[] injectionPoints = compileInjectionPoints(executable);
+        return InjectionPlan.builder()
+                .key(definition.key())
+                .executable(executable)
+                .scope(definition.scope())
+                .primary(definition.primary())
+                .configurationPrefix(definition.configurationPrefix())
+                .host(host != null ? build(host, context) : null)
+                .instantiator(BeanInstantiators.of(executable))
+                .injectionPoints(List.of(injectionPoints))
+                .arguments(compileArguments(injectionPoints))
+                .dependsOn(resolveDependsOn(executable, context))
+                .lazy(definition.lazy())
+                .build();
+    }
+
+    public static ArgumentResolver[] compileArguments(Executable executable) {
+        return compileArguments(compileInjectionPoints(executable));
+    }
+
+    private static ArgumentResolver[] compileArguments(InjectionPoint[] injectionPoints) {
+        ArgumentResolver[] resolvers = new ArgumentResolver[injectionPoints.length];
+        for (int i = 0; i < injectionPoints.length; i++) {
+            resolvers[i] = compileArgument(injectionPoints[i], i);
+        }
+        return resolvers;
+    }
+
+    public static InjectionPoint[] compileInjectionPoints(Executable executable) {
+        Parameter[] parameters = executable.getParameters();
+        InjectionPoint[] injectionPoints = new InjectionPoint[parameters.length];
+        for (int i = 0; i < parameters.length; i++) {
+            Qualifier qualifier = parameters[i].getAnnotation(Qualifier.class);
+            String qualifierName = (qualifier != null) ? qualifier.value() : null;
+            Class<?> type = parameters[i].getType();
+            boolean provider = type == Provider.class || type == Supplier.class || type == BeanPool.class;
+            boolean generic = List.class.isAssignableFrom(type) || Set.class.isAssignableFrom(type) || provider;
+            boolean lazy = parameters[i].isAnnotationPresent(Lazy.class);
+            if (lazy && !type.isInterface()) {
+                log.error("@Lazy parameter #{} of {} must have an interface type, found {}", i, executable, type.getName());
+                throw new RuntimeException("@Lazy parameter #" + i + " of " + executable.getName() + " must have an interface type, found " + type.getName());
+            }
+            Class<?> beanType = Map.class.isAssignableFrom(type) ? findMapValueType(parameters[i], i)
+                    : generic ? findElementType(parameters[i], i) : type;
+            injectionPoints[i] = new InjectionPoint(type, beanType, qualifierName, lazy || provider);
+        }
+        return injectionPoints;
+    }
+
+    private static ArgumentResolver compileArgument(InjectionPoint injectionPoint, int i) {
+        ArgumentResolver resolver = compileEagerArgument(injectionPoint, i);
+        // Providers and pools are deferred by nature, only @Lazy parameters need a proxy.
+        if (injectionPoint.deferred() && !injectionPoint.isProvider() && !injectionPoint.isPool()) {
+            Class<?> type = injectionPoint.parameterType();
+            log.trace("Dependency #{} is @Lazy, injecting a proxy of {}", i, type.getName());
+            return () -> LazyProxy.create(type, resolver);
+        }
+        return resolver;
+    }
+
+    private static ArgumentResolver compileEagerArgument(InjectionPoint injectionPoint, int i) {
+        Class<?> type = injectionPoint.parameterType();
+        Class<?> elementType = injectionPoint.beanType();
+
+        if (injectionPoint.isProvider()) {
+            if (elementType == null) {
+                log.error("Provider parameter #{} must declare the bean type, as in Provider<Type>", i);
+                throw new RuntimeException("Provider parameter #" + i + " must declare the bean type, as in Provider<Type>");
+            }
+            String qualifierName = injectionPoint.qualifier();
+            log.trace("Dependency #{} is a provider of {}", i, elementType.getName());
+            return () -> ApplicationRunner.getProvider(elementType, qualifierName);
+        }
+        if (injectionPoint.isPool()) {
+            if (elementType == null) {
+                log.error("BeanPool parameter #{} must declare the bean type, as in BeanPool<Type>", i);
+                throw new RuntimeException("BeanPool parameter #" + i + " must declare the bean type, as in BeanPool<Type>");
+            }
+            String qualifierName = injectionPoint.qualifier();
+            log.trace("Dependency #{} is the pool of {}", i, elementType.getName());
+            return () -> ApplicationRunner.getPool(elementType, qualifierName);
+        }
+        if (Map.class.isAssignableFrom(type)) {
+            return elementType == null ? Map::of : () -> ApplicationRunner.loadBeanMap(elementType);
+        }
+        if (List.class.isAssignableFrom(type)) {
+            return elementType == null ? () -> null : () -> ApplicationRunner.loadBeans(elementType);
+        }
+        if (Set.class.isAssignableFrom(type)) {
+            return elementType == null ? HashSet::new : () -> ApplicationRunner.loadBeanSet(elementType);
+        }
+        // Standard single bean injection
+        String qualifierName = injectionPoint.qualifier();
+        log.trace("Dependency #{}: type={}, qualifier='{}'", i, type.getName(), qualifierName);
+        return () -> ApplicationRunner.loadBean(type, qualifierName);
+    }
+
+    private static Class<?> findElementType(Parameter parameter, int i) {
+        Type genericType = parameter.getParameterizedType();
+        if (genericType instanceof ParameterizedType) {
+            Type actualTypeArgument = ((ParameterizedType) genericType).getActualTypeArguments()[0];
+            if (actualTypeArgument instanceof Class) {
+                log.trace("Dependency #{} is parameterized with {}", i, ((Class<?>) actualTypeArgument).getSimpleName());
+                return (Class<?>) actualTypeArgument;
+            }
+            log.warn("Complex generic type for List injection not fully supported: {}", actualTypeArgument);
+        } else {
+            log.warn("List injection without generic type is not supported. Use List<Type>.");
+        }
+        return null;
+    }
+
+    /**
+     * Returns the value type of a {@code Map<String, T>} parameter, injected with the beans of that type by name.
+     */
+    private static Class<?> findMapValueType(Parameter parameter, int i) {
+        if (!(parameter.getParameterizedType() instanceof ParameterizedType parameterizedType)) {
+            log.warn("Map injection without generic type is not supported. Use Map<String, Type>.");
+            return null;
+        }
+        Type[] typeArguments = parameterizedType.getActualTypeArguments();
+        if (typeArguments[0] != String.class) {
+            log.error("Map parameter #{} must be keyed by bean name, as in Map<String, Type>, found {}", i, parameterizedType);
+            throw new RuntimeException("Map parameter #" + i + " must be keyed by bean name, as in Map<String, Type>, found " + parameterizedType);
+        }
+        if (typeArguments[1] instanceof Class<?> valueType) {
+            log.trace("Dependency #{} is a map of {} by name", i, valueType.getSimpleName());
+            return valueType;
+        }
+        log.warn("Complex generic type for Map injection not fully supported: {}", typeArguments[1]);
+        return null;
+    }
+
+    private static void checkNoPooledDependency(InjectionPlan plan, Context context) {
+        List<InjectionPoint> injectionPoints = plan.getInjectionPoints();
+        for (int i = 0; i < injectionPoints.size(); i++) {
+            InjectionPoint injectionPoint = injectionPoints.get(i);
+            if (injectionPoint.isPool() || injectionPoint.isCollection() || injectionPoint.beanType() == null) {
+                continue;
+            }
+            KeyDefinition dependency;
+            try {
+                dependency = BeanDefinitionResolver.resolve(injectionPoint.beanType(), injectionPoint.qualifier(), context);
+            } catch (RuntimeException e) {
+                // Manually registered singleton or unresolvable dependency: loading it reports the latter.
+                continue;
+            }
+            if (context.getBeanDefinition(dependency).scope() == ScopeType.POOLED) {
+                String executable = plan.getExecutable().getName();
+                log.error("Parameter #{} of {} expects POOLED bean [{}]: inject its BeanPool instead", i, executable, dependency);
+                throw new RuntimeException("Parameter #" + i + " of " + executable + " expects POOLED bean [" + dependency
+                        + "]: inject BeanPool<" + injectionPoint.beanType().getSimpleName() + "> and borrow from it");
+            }
+        }
+    }
+
+    /**
+     * Resolves the beans named by {@code @DependsOn} to their keys, keeping those of a shared scope only: a
+     * {@code PROTOTYPE}, {@code REQUEST} or {@code POOLED} bean created ahead would be thrown away at once.
+     */
+    private static List<KeyDefinition> resolveDependsOn(Executable executable, Context context) {
+        DependsOn dependsOn = executable.getAnnotation(DependsOn.class);
+        if (dependsOn == null && executable instanceof Constructor) {
+            dependsOn = executable.getDeclaringClass().getAnnotation(DependsOn.class);
+        }
+        if (dependsOn == null) {
+            return List.of();
+        }
+        Context current = context != null ? context : ContextService.getContext();
+        List<KeyDefinition> keys = new ArrayList<>(dependsOn.value().length);
+        for (String name : dependsOn.value()) {
+            if (current.getBeanRegistry().candidates(Object.class, name).isEmpty()) {
+                if (current.getRegisteredSingletons().stream().anyMatch(key -> name.equals(key.getName()))) {
+                    continue;
+                }
+                log.error("@DependsOn of {} names unknown bean '{}'", executable, name);
+                throw new RuntimeException("@DependsOn of " + executable.getName() + " names unknown bean '" + name + "'");
+            }
+            KeyDefinition key = BeanDefinitionResolver.resolve(Object.class, name, current);
+            ScopeType scope = current.getBeanDefinition(key).scope();
+            if (scope == ScopeType.PROTOTYPE || scope == ScopeType.REQUEST || scope == ScopeType.POOLED) {
+                log.debug("@DependsOn of {} names {} bean '{}': not created ahead", executable, scope, name);
+                continue;
+            }
+            keys.add(key);
+        }
+        return List.copyOf(keys);
+    }
+}
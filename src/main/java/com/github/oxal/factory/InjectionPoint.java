@@ -0,0 +1,39 @@
+package com.github.oxal.factory;
+
+import com.github.oxal.pool.BeanPool;
+import com.github.oxal.provider.Provider;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * A dependency of a bean, declared by one parameter of its constructor or {@code @Bean} method.
+ *
+ * @param parameterType the declared parameter type
+ * @param beanType      the type of the injected beans: the parameter type, the type argument of a {@code List},
+ *                      {@code Set}, {@code Provider}, {@code Supplier} or {@code BeanPool} parameter, or the value type
+ *                      of a {@code Map<String, T>} parameter, {@code null} if it cannot be determined
+ * @param qualifier     the {@code @Qualifier} value, or {@code null}
+ * @param deferred      whether the injected beans are only loaded when first used, as for {@code @Lazy}, provider and
+ *                      pool parameters, so that they need not exist when the bean is created
+ */
+public record InjectionPoint(Class<?> parameterType, Class<?> beanType, String qualifier, boolean deferred) {
+
+    /**
+     * Whether every bean of the type is injected, as a {@code List}, a {@code Set} or a {@code Map} by name.
+     */
+    public boolean isCollection() {
+        return List.class.isAssignableFrom(parameterType) || Set.class.isAssignableFrom(parameterType)
+                || Map.class.isAssignableFrom(parameterType);
+    }
+
+    public boolean isProvider() {
+        return parameterType == Provider.class || parameterType == Supplier.class;
+    }
+
+    public boolean isPool() {
+        return parameterType == BeanPool.class;
+    }
+}
@@ -0,0 +1,150 @@
+package com.github.oxal.factory;
+
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Backs the proxies injected into {@code @Lazy} parameters.
+ * <p>
+ * The target is resolved on the first method call, under a lock that parks waiting threads instead of pinning virtual
+ * threads. It is then published through a holder with a final field, so later calls read a plain field and forward to
+ * the target without any synchronization. {@code equals}, {@code hashCode} and {@code toString} are answered by the
+ * proxy itself, by identity, so that logging it or putting it in a hash set does not create the target.
+ * <p>
+ * Calls are forwarded through a {@link MethodHandle} adapted once per interface method, which spares the access
+ * checks and exception wrapping of {@link Method#invoke}. Each proxy keeps the handles of the methods called on it,
+ * found by identity of the {@link Method} its proxy class passes, so that a call does no hash lookup. Reflection
+ * remains the fallback when a handle cannot be obtained, for instance for interfaces of a module that is not open to
+ * Tiny-Bean.
+ */
+@Slf4j
+public class LazyProxy implements InvocationHandler {
+
+    private static final MethodType FORWARDER_TYPE = MethodType.methodType(Object.class, Object.class, Object[].class);
+    private static final Object[] NO_ARGUMENTS = {};
+    /**
+     * Marks the methods forwarded through reflection, as a map cannot hold {@code null}. Never invoked.
+     */
+    private static final MethodHandle REFLECTION = MethodHandles.empty(FORWARDER_TYPE);
+
+    /**
+     * The forwarders of the interface methods, by declaring interface, so that they are dropped with its class loader.
+     */
+    private static final ClassValue<Map<Method, MethodHandle>> FORWARDERS = new ClassValue<>() {
+        @Override
+        protected Map<Method, MethodHandle> computeValue(Class<?> type) {
+            return new ConcurrentHashMap<>();
+        }
+    };
+
+    private final Class<?> type;
+    private final ArgumentResolver resolver;
+    private final ReentrantLock lock = new ReentrantLock();
+    private Target target;
+    /**
+     * The forwarders of the methods called on this proxy so far, replaced as a whole when one is added.
+     */
+    private volatile Forwarder[] forwarders = new Forwarder[0];
+
+    private record Target(Object instance) {
+    }
+
+    private record Forwarder(Method method, MethodHandle handle) {
+    }
+
+    private LazyProxy(Class<?> type, ArgumentResolver resolver) {
+        this.type = type;
+        this.resolver = resolver;
+    }
+
+    /**
+     * Creates a proxy of the given interface that resolves its target with the given resolver on first use.
+     */
+    public static Object create(Class<?> type, ArgumentResolver resolver) {
+        return Proxy.newProxyInstance(type.getClassLoader(), new Class<?>[]{type}, new LazyProxy(type, resolver));
+    }
+
+    @Override
+    public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+        if (method.getDeclaringClass() == Object.class) {
+            return invokeObjectMethod(proxy, method, args);
+        }
+        Target current = target;
+        if (current == null) {
+            current = resolveTarget();
+        }
+        MethodHandle forwarder = forwarderOf(method);
+        if (forwarder != REFLECTION) {
+            Object[] arguments = args != null ? args : NO_ARGUMENTS;
+            return forwarder.invokeExact(current.instance(), arguments);
+        }
+        try {
+            return method.invoke(current.instance(), args);
+        } catch (InvocationTargetException e) {
+            throw e.getCause();
+        }
+    }
+
+    private MethodHandle forwarderOf(Method method) {
+        Forwarder[] known = forwarders;
+        for (Forwarder forwarder : known) {
+            if (forwarder.method() == method) {
+                return forwarder.handle();
+            }
+        }
+        MethodHandle handle = FORWARDERS.get(method.getDeclaringClass()).computeIfAbsent(method, LazyProxy::forwarder);
+        // A concurrent addition may be lost: its method then goes through this path once more.
+        Forwarder[] grown = Arrays.copyOf(known, known.length + 1);
+        grown[known.length] = new Forwarder(method, handle);
+        forwarders = grown;
+        return handle;
+    }
+
+    /**
+     * Adapts the given interface method to the {@code (Object, Object[])Object} shape, or returns {@link #REFLECTION}
+     * if no handle can be obtained for it.
+     */
+    private static MethodHandle forwarder(Method method) {
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(method.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflect(method)
+                    .asSpreader(Object[].class, method.getParameterCount())
+                    .asType(FORWARDER_TYPE);
+        } catch (IllegalAccessException | RuntimeException e) {
+            log.debug("Falling back to reflection to forward '{}': {}", method, e.toString());
+            return REFLECTION;
+        }
+    }
+
+    private Object invokeObjectMethod(Object proxy, Method method, Object[] args) {
+        return switch (method.getName()) {
+            case "equals" -> proxy == args[0];
+            case "hashCode" -> System.identityHashCode(proxy);
+            default -> "LazyProxy[" + type.getName() + (target != null ? ", resolved]" : ", unresolved]");
+        };
+    }
+
+    private Target resolveTarget() {
+        lock.lock();
+        try {
+            if (target == null) {
+                log.debug("Resolving @Lazy dependency of type {} on first use", type.getName());
+                target = new Target(resolver.resolve());
+            }
+            return target;
+        } finally {
+            lock.unlock();
+        }
+    }
+}
@@ -1,26 +1,40 @@
 package com.github.oxal.initializer;
 
 import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.ScopeType;
 import com.github.oxal.context.Context;
 import com.github.oxal.context.ContextService;
 import com.github.oxal.factory.BeanFactory;
+import com.github.oxal.object.BeanDefinition;
 import com.github.oxal.object.KeyDefinition;
 import com.github.oxal.provider.PackageProvider;
+import com.github.oxal.runner.ApplicationRunner;
 import com.github.oxal.scanner.ApplicationScanner;
+import com.github.oxal.scanner.BeanIndex;
+import com.github.oxal.scanner.ScanCache;
 import com.github.oxal.utils.PropertyLoader;
 import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
 import lombok.extern.slf4j.Slf4j;
 
+import java.io.File;
 import java.lang.reflect.Method;
+import java.nio.file.Path;
 import java.util.Arrays;
 import java.util.HashSet;
+import java.util.List;
 import java.util.ServiceLoader;
 import java.util.Set;
 
 @Slf4j
 public class ContextInitializer {
 
+    /**
+     * Set to {@code false}, as a system property or in {@code application.properties}, to ignore the compile-time
+     * bean index and always scan the classpath.
+     */
+    public static final String INDEX_ENABLED_PROPERTY = "tinybean.index.enabled";
+
     public static void initialize(Class<?> application) {
         log.info("Starting Tiny-Bean context for application: {}", application.getName());
 
@@ -47,6 +61,33 @@ public class ContextInitializer {
         String[] packages = packagesToScan.toArray(new String[0]);
         log.debug("Final packages to scan: {}", Arrays.toString(packages));
 
+        ClassLoader classLoader = findClassLoader();
+        BeanIndex index = isIndexEnabled() ? BeanIndex.load(classLoader) : null;
+        String scanCachePath = System.getProperty(ScanCache.PATH_PROPERTY, PropertyLoader.getProperty(ScanCache.PATH_PROPERTY));
+        if (index != null) {
+            BeanIndex filtered = index.filter(packages);
+            String source = "bean index";
+            List<File> unindexed = index.unindexedEntries(ScanCache.currentClasspath(), packages, classLoader);
+            if (!unindexed.isEmpty()) {
+                log.debug("Scanning the classpath entries missing from the bean index: {}", unindexed);
+                BeanIndex scanned = ScanCache.scan(packages, unindexed, classLoader);
+                if (scanned.size() > 0) {
+                    log.warn("{} classes of classpath entries without a bean index were found by scanning them: compile them with tiny-bean-processor", scanned.size());
+                    filtered.addAll(scanned);
+                }
+                source = "bean index and a scan of " + unindexed.size() + " classpath entries without one";
+            }
+            initializeFromIndex(application, packages, filtered, source, classLoader);
+        } else if (scanCachePath != null && !scanCachePath.isBlank()) {
+            BeanIndex cached = ScanCache.load(Path.of(scanCachePath), packages).update(ScanCache.currentClasspath(), classLoader);
+            initializeFromIndex(application, packages, cached, "scan cache " + scanCachePath, classLoader);
+        } else {
+            initializeFromScan(application, packages);
+        }
+        log.info("Tiny-Bean context initialized successfully.");
+    }
+
+    private static void initializeFromScan(Class<?> application, String[] packages) {
         long startTime = System.currentTimeMillis();
         try (ScanResult scanResult = new ClassGraph().enableAllInfo().acceptPackages(packages).scan()) {
             log.info("Classpath scan completed in {}ms", System.currentTimeMillis() - startTime);
@@ -61,11 +102,73 @@ public class ContextInitializer {
             log.debug("Populating context with bean definitions and @After callbacks...");
             ApplicationScanner.populateContextFromScan(scanResult);
             log.info("Found {} bean definitions.", context.getBeanDefinitionCount());
+            preInstantiateSingletons(application, context);
+            warmPools(context);
 
             log.debug("Executing @AfterContextLoad callbacks...");
             executeAfterCallbacks(context);
+            context.freeze();
         }
-        log.info("Tiny-Bean context initialized successfully.");
+    }
+
+    /**
+     * Loads the context from the compile-time bean index or the scan cache, skipping the classpath scan entirely.
+     * No {@link ScanResult} exists in this mode, so a context with a callback or a bean expecting one is loaded from a
+     * classpath scan instead.
+     *
+     * @param source what the index was read from, for the logs
+     */
+    private static void initializeFromIndex(Class<?> application, String[] packages, BeanIndex index, String source, ClassLoader classLoader) {
+        if (ApplicationScanner.requiresScanResult(index, classLoader)) {
+            log.warn("A @BeforeContextLoad or @AfterContextLoad callback or a bean expects a ScanResult, which only a classpath scan provides: scanning the classpath");
+            initializeFromScan(application, packages);
+            return;
+        }
+        log.info("Using {} ({} entries)", source, index.size());
+
+        log.debug("Executing @BeforeContextLoad callbacks...");
+        ApplicationScanner.executeBeforeCallbacks(index, classLoader);
+
+        Context context = ContextService.createContexte(application, packages);
+
+        log.debug("Populating context with bean definitions and @After callbacks...");
+        ApplicationScanner.populateContextFromIndex(index, classLoader);
+        log.info("Found {} bean definitions.", context.getBeanDefinitionCount());
+        preInstantiateSingletons(application, context);
+        warmPools(context);
+
+        log.debug("Executing @AfterContextLoad callbacks...");
+        executeAfterCallbacks(context);
+        context.freeze();
+    }
+
+    private static void preInstantiateSingletons(Class<?> application, Context context) {
+        if (application.getAnnotation(Application.class).eagerInit()) {
+            log.debug("Creating singletons eagerly...");
+            EagerInitializer.initialize(context);
+        }
+    }
+
+    /**
+     * Creates the minimum number of instances of every {@code POOLED} bean, so that the first borrows find them idle.
+     */
+    private static void warmPools(Context context) {
+        for (BeanDefinition definition : context.getBeanDefinitions().values()) {
+            if (definition.scope() == ScopeType.POOLED && definition.pool().minSize() > 0) {
+                log.debug("Warming pool of bean [{}] with {} instances", definition.key(), definition.pool().minSize());
+                ApplicationRunner.getPool(definition.key()).warm();
+            }
+        }
+    }
+
+    private static boolean isIndexEnabled() {
+        return Boolean.parseBoolean(System.getProperty(INDEX_ENABLED_PROPERTY,
+                PropertyLoader.getProperty(INDEX_ENABLED_PROPERTY, "true")));
+    }
+
+    private static ClassLoader findClassLoader() {
+        ClassLoader classLoader = Thread.currentThread().getContextClassLoader();
+        return classLoader != null ? classLoader : ContextInitializer.class.getClassLoader();
     }
 
     private static void executeAfterCallbacks(Context context) {
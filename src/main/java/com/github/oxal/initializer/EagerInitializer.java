@@ -0,0 +1,162 @@
+package com.github.oxal.initializer;
+
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.Context;
+import com.github.oxal.factory.InjectionPlan;
+import com.github.oxal.factory.InjectionPoint;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.resolver.BeanDefinitionResolver;
+import com.github.oxal.runner.ApplicationRunner;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+/**
+ * Creates every singleton of a context up front, in parallel along their dependency graph.
+ * <p>
+ * {@code @Lazy} singletons are left out. A singleton depends on the beans injected into its constructor or
+ * {@code @Bean} method, except through {@code @Lazy} parameters, and on the beans named by its {@code @DependsOn},
+ * looking through prototypes. Each singleton is created on a virtual thread as soon as its dependencies exist, so
+ * independent singletons are created concurrently. The first failure cancels the creations still pending and
+ * interrupts the running ones.
+ */
+@Slf4j
+public class EagerInitializer {
+
+    public static void initialize(Context context) {
+        long startTime = System.currentTimeMillis();
+        Map<KeyDefinition, Set<KeyDefinition>> graph = buildGraph(context);
+        List<KeyDefinition> order = topologicalOrder(graph);
+        log.debug("Eagerly creating {} singletons", graph.size());
+
+        ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor();
+        CompletableFuture<Void> firstFailure = new CompletableFuture<>();
+        Map<KeyDefinition, CompletableFuture<Void>> creations = new HashMap<>();
+        try {
+            for (KeyDefinition key : order) {
+                CompletableFuture<?>[] dependencies = graph.get(key).stream()
+                        .map(creations::get)
+                        .toArray(CompletableFuture[]::new);
+                CompletableFuture<Void> creation = CompletableFuture.allOf(dependencies)
+                        .thenRunAsync(() -> create(key), executor);
+                creation.whenComplete((ignored, e) -> {
+                    if (e != null) {
+                        firstFailure.completeExceptionally(e);
+                    }
+                });
+                creations.put(key, creation);
+            }
+            CompletableFuture.anyOf(CompletableFuture.allOf(creations.values().toArray(CompletableFuture[]::new)), firstFailure).join();
+        } catch (CompletionException e) {
+            executor.shutdownNow();
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw new RuntimeException("Eager singleton initialization failed", e.getCause());
+        } finally {
+            executor.shutdown();
+        }
+
+        // Singletons left out of the order depend on each other: creating them reports the cycle.
+        for (KeyDefinition key : graph.keySet()) {
+            if (!creations.containsKey(key)) {
+                create(key);
+            }
+        }
+        log.info("Eagerly created {} singletons in {}ms", graph.size(), System.currentTimeMillis() - startTime);
+    }
+
+    private static void create(KeyDefinition key) {
+        try {
+            ApplicationRunner.loadBean(key.getType(), key.getName());
+        } catch (RuntimeException e) {
+            log.error("Eager initialization of bean {} failed", key, e);
+            throw new RuntimeException("Eager initialization of bean " + key + " failed", e);
+        }
+    }
+
+    /**
+     * Maps each singleton not created yet to the singletons it needs.
+     */
+    private static Map<KeyDefinition, Set<KeyDefinition>> buildGraph(Context context) {
+        Map<KeyDefinition, Set<KeyDefinition>> graph = new LinkedHashMap<>();
+        for (KeyDefinition key : context.getBeanDefinitions().keySet()) {
+            InjectionPlan plan = context.getInjectionPlan(key);
+            if (isShared(plan.getScope()) && !plan.isLazy() && !context.isSingletonRegistered(key)) {
+                Set<KeyDefinition> dependencies = new LinkedHashSet<>();
+                collectDependencies(plan, context, dependencies, new HashSet<>());
+                graph.put(key, dependencies);
+            }
+        }
+        graph.values().forEach(dependencies -> dependencies.retainAll(graph.keySet()));
+        return graph;
+    }
+
+    private static void collectDependencies(InjectionPlan plan, Context context, Set<KeyDefinition> dependencies, Set<KeyDefinition> visitedPrototypes) {
+        List<KeyDefinition> keys = new ArrayList<>();
+        for (InjectionPoint injectionPoint : plan.getInjectionPoints()) {
+            Class<?> beanType = injectionPoint.beanType();
+            if (beanType == null || beanType == Context.class || injectionPoint.deferred()) {
+                continue;
+            }
+            if (injectionPoint.isCollection()) {
+                keys.addAll(BeanDefinitionResolver.resolveAll(beanType, context));
+            } else {
+                try {
+                    keys.add(BeanDefinitionResolver.resolve(beanType, injectionPoint.qualifier(), context));
+                } catch (RuntimeException e) {
+                    // Manually registered singleton or unresolvable dependency: creating the bean reports the latter.
+                }
+            }
+        }
+        keys.addAll(plan.getDependsOn());
+
+        for (KeyDefinition key : keys) {
+            InjectionPlan dependencyPlan = context.getInjectionPlan(key);
+            if (isShared(dependencyPlan.getScope())) {
+                dependencies.add(key);
+            } else if (visitedPrototypes.add(key)) {
+                collectDependencies(dependencyPlan, context, dependencies, visitedPrototypes);
+            }
+        }
+    }
+
+    /**
+     * Whether beans of the given scope are kept in the singleton cache, refreshable singletons included.
+     */
+    private static boolean isShared(ScopeType scope) {
+        return scope == ScopeType.SINGLETON || scope == ScopeType.REFRESHABLE;
+    }
+
+    /**
+     * Orders the singletons so that each comes after its dependencies. Singletons on a cycle are left out.
+     */
+    private static List<KeyDefinition> topologicalOrder(Map<KeyDefinition, Set<KeyDefinition>> graph) {
+        Map<KeyDefinition, Integer> pendingDependencies = new HashMap<>();
+        Map<KeyDefinition, List<KeyDefinition>> dependents = new HashMap<>();
+        Deque<KeyDefinition> ready = new ArrayDeque<>();
+        graph.forEach((key, dependencies) -> {
+            pendingDependencies.put(key, dependencies.size());
+            dependencies.forEach(dependency -> dependents.computeIfAbsent(dependency, k -> new ArrayList<>()).add(key));
+            if (dependencies.isEmpty()) {
+                ready.add(key);
+            }
+        });
+
+        List<KeyDefinition> order = new ArrayList<>(graph.size());
+        while (!ready.isEmpty()) {
+            KeyDefinition key = ready.poll();
+            order.add(key);
+            for (KeyDefinition dependent : dependents.getOrDefault(key, List.of())) {
+                if (pendingDependencies.merge(dependent, -1, Integer::sum) == 0) {
+                    ready.add(dependent);
+                }
+            }
+        }
+        return order;
+    }
+}
@@ -0,0 +1,51 @@
+package com.github.oxal.object;
+
+import com.github.oxal.annotation.ScopeType;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
+
+/**
+ * Immutable metadata of a bean definition, read from its annotations once, when the definition is registered.
+ * <p>
+ * A definition is identified by its key: two definitions are equal when their keys are.
+ *
+ * @param key                 the type and name of the bean
+ * @param executable          the constructor or {@code @Bean} method creating the bean
+ * @param stereotype          the annotation declaring the bean, {@code @Bean} or a stereotype of it, or {@code null} for
+ *                            a definition registered manually without one
+ * @param scope               the scope of the bean
+ * @param primary             whether the bean is {@code @Primary}
+ * @param lazy                whether the bean is {@code @Lazy}, and so left out of eager initialization
+ * @param order               the {@code @Order} of the bean among the beans of a type, {@code Order.LOWEST} without one
+ * @param configurationPrefix the {@code @Configuration} prefix of the bean, or {@code null} if its declared type is not
+ *                            a configuration class
+ * @param pool                the sizing of the pool of a {@link ScopeType#POOLED} bean, {@code null} for other scopes
+ * @param refresh             the refresh period of a {@link ScopeType#REFRESHABLE} bean, {@code null} for other scopes
+ */
+public record BeanDefinition(KeyDefinition key, Executable executable, Class<? extends Annotation> stereotype,
+                             ScopeType scope, boolean primary, boolean lazy, int order,
+                             String configurationPrefix, PoolConfig pool, RefreshConfig refresh) {
+
+    public String name() {
+        return key.getName();
+    }
+
+    public Class<?> type() {
+        return key.getType();
+    }
+
+    public BeanDefinition withKey(KeyDefinition key) {
+        return new BeanDefinition(key, executable, stereotype, scope, primary, lazy, order, configurationPrefix, pool, refresh);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return this == o || (o instanceof BeanDefinition other && key.equals(other.key));
+    }
+
+    @Override
+    public int hashCode() {
+        return key.hashCode();
+    }
+}
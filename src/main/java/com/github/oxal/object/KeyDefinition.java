@@ -2,14 +2,17 @@ package com.github.oxal.object;
 
 import lombok.*;
 
+/**
+ * The type and name identifying a bean. Immutable, with its hash code computed once, as it keys every lookup.
+ */
 @Getter
-@Setter
+@With
 @Builder
-@EqualsAndHashCode
+@EqualsAndHashCode(cacheStrategy = EqualsAndHashCode.CacheStrategy.LAZY)
 @ToString
 public class KeyDefinition {
-    String name;
-    Class<?> type;
+    private final String name;
+    private final Class<?> type;
 
     public boolean sameName(String name) {
         return this.name.equals(name);
@@ -0,0 +1,13 @@
+package com.github.oxal.object;
+
+/**
+ * The sizing of the pool of a {@code POOLED} bean, read from its {@code @Bean} annotation.
+ *
+ * @param minSize           the number of instances created at startup and never evicted
+ * @param maxSize           the maximum number of instances
+ * @param idleTimeoutMillis how long an instance may idle before it is evicted, or {@code 0} to never evict
+ */
+public record PoolConfig(int minSize, int maxSize, long idleTimeoutMillis) {
+
+    public static final PoolConfig DEFAULT = new PoolConfig(0, 8, 60_000);
+}
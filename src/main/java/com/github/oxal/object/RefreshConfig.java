@@ -0,0 +1,12 @@
+package com.github.oxal.object;
+
+/**
+ * The refresh period of a {@code REFRESHABLE} bean, read from its {@code @Bean} annotation.
+ *
+ * @param ttlMillis   how long an instance is used before a replacement is built
+ * @param graceMillis how long a replaced instance stays open before it is closed, if it is {@link AutoCloseable}
+ */
+public record RefreshConfig(long ttlMillis, long graceMillis) {
+
+    public static final RefreshConfig DEFAULT = new RefreshConfig(300_000, 10_000);
+}
@@ -0,0 +1,292 @@
+package com.github.oxal.pool;
+
+import com.github.oxal.object.PoolConfig;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.LockSupport;
+import java.util.function.Supplier;
+
+/**
+ * The bounded pool of instances of a {@code POOLED} bean, injectable as {@code BeanPool<T>}.
+ * <p>
+ * Idle instances sit in a fixed array with one slot per instance the pool may hold, and are taken and given back with
+ * compare-and-set: borrowing and returning take no lock, and a borrow allocates only its {@link Pooled} handle. A
+ * borrower finding no idle instance creates one while the pool is below its maximum size, and otherwise waits for one
+ * to be returned: it spins briefly, then parks in a queue of waiters, each return unparking the first of them. Instances idling longer than the idle timeout are evicted when another is returned, down to the
+ * minimum size, and closed if they are {@link AutoCloseable}.
+ *
+ * @param <T> the type of the bean
+ */
+@Slf4j
+public class BeanPool<T> {
+
+    private static final int SPINS_BEFORE_PARKING = 64;
+
+    @Getter
+    private final String name;
+    @Getter
+    private final PoolConfig config;
+    private final Supplier<T> factory;
+    private final AtomicReferenceArray<Entry<T>> idle;
+    private final long idleTimeoutNanos;
+    /**
+     * The instances created and not evicted, borrowed or idle.
+     */
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicInteger idleCount = new AtomicInteger();
+    private final AtomicLong nextEviction;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder waits = new LongAdder();
+    private final LongAdder evictions = new LongAdder();
+    /**
+     * The threads parked until an instance is returned or the pool shrinks, in arrival order.
+     */
+    private final Queue<Thread> waiters = new ConcurrentLinkedQueue<>();
+
+    public BeanPool(String name, PoolConfig config, Supplier<T> factory) {
+        this.name = name;
+        this.config = config;
+        this.factory = factory;
+        this.idle = new AtomicReferenceArray<>(config.maxSize());
+        this.idleTimeoutNanos = TimeUnit.MILLISECONDS.toNanos(config.idleTimeoutMillis());
+        this.nextEviction = new AtomicLong(System.nanoTime() + idleTimeoutNanos);
+    }
+
+    /**
+     * Borrows an instance, waiting for one to be returned if the pool is at its maximum size and none is idle.
+     *
+     * @throws RuntimeException if the thread is interrupted while waiting
+     */
+    public Pooled<T> borrow() {
+        Entry<T> entry = tryBorrow();
+        if (entry == null) {
+            waits.increment();
+            log.debug("Pool {} exhausted at {} instances, waiting for a return", name, size.get());
+            entry = await();
+        }
+        return new Pooled<>(this, entry);
+    }
+
+    /**
+     * Creates instances until the pool holds its minimum size.
+     */
+    public void warm() {
+        for (int current = size.get(); current < config.minSize(); current = size.get()) {
+            if (size.compareAndSet(current, current + 1)) {
+                Entry<T> entry = create();
+                entry.returnedAt = System.nanoTime();
+                offerIdle(entry);
+            }
+        }
+        log.debug("Pool {} warmed with {} instances", name, size.get());
+    }
+
+    public PoolMetrics metrics() {
+        return new PoolMetrics(hits.sum(), misses.sum(), waits.sum(), evictions.sum(), size.get(), idleCount.get());
+    }
+
+    void release(Entry<T> entry) {
+        long now = System.nanoTime();
+        entry.returnedAt = now;
+        offerIdle(entry);
+        signal();
+        evictIdle(now);
+    }
+
+    /**
+     * Takes an idle instance, or creates one if the pool is below its maximum size.
+     *
+     * @return the instance, or {@code null} if the pool is exhausted
+     */
+    private Entry<T> tryBorrow() {
+        Entry<T> entry = takeIdle();
+        if (entry != null) {
+            hits.increment();
+            return entry;
+        }
+        for (int current = size.get(); current < config.maxSize(); current = size.get()) {
+            if (size.compareAndSet(current, current + 1)) {
+                misses.increment();
+                return create();
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Waits until an instance can be borrowed. The thread enqueues itself before checking the pool one last time, so
+     * that a return happening in between unparks it rather than going unnoticed.
+     *
+     * @throws RuntimeException if the thread is interrupted while waiting
+     */
+    private Entry<T> await() {
+        Thread current = Thread.currentThread();
+        for (int spins = 0; ; spins++) {
+            if (spins < SPINS_BEFORE_PARKING) {
+                Thread.onSpinWait();
+                Entry<T> entry = tryBorrow();
+                if (entry != null) {
+                    return entry;
+                }
+                continue;
+            }
+            waiters.add(current);
+            Entry<T> entry = null;
+            try {
+                entry = tryBorrow();
+                if (entry == null) {
+                    LockSupport.park(this);
+                }
+            } finally {
+                // Already dequeued by a return: pass its signal on if this thread leaves without using it.
+                if (!waiters.remove(current) && (entry != null || current.isInterrupted())) {
+                    signal();
+                }
+            }
+            if (entry != null) {
+                return entry;
+            }
+            if (current.isInterrupted()) {
+                log.error("Interrupted while waiting for an instance of {}", name);
+                throw new RuntimeException("Interrupted while waiting for an instance of " + name);
+            }
+        }
+    }
+
+    /**
+     * Unparks the longest waiting borrower, if any.
+     */
+    private void signal() {
+        Thread waiter = waiters.poll();
+        if (waiter != null) {
+            LockSupport.unpark(waiter);
+        }
+    }
+
+    /**
+     * Creates an instance, the caller having already counted it in the pool size.
+     */
+    private Entry<T> create() {
+        try {
+            return new Entry<>(factory.get());
+        } catch (RuntimeException | Error e) {
+            size.decrementAndGet();
+            // The pool has room again: a waiter may create the instance instead.
+            signal();
+            throw e;
+        }
+    }
+
+    private Entry<T> takeIdle() {
+        if (idleCount.get() == 0) {
+            return null;
+        }
+        int slots = idle.length();
+        int start = firstSlot(slots);
+        for (int i = 0; i < slots; i++) {
+            int slot = (start + i) % slots;
+            Entry<T> entry = idle.get(slot);
+            if (entry != null && idle.compareAndSet(slot, entry, null)) {
+                idleCount.decrementAndGet();
+                return entry;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Puts an instance in a free slot. There is always one, as the pool holds no more instances than slots, but
+     * concurrent takes and returns may move the free slots during a scan.
+     */
+    private void offerIdle(Entry<T> entry) {
+        int slots = idle.length();
+        for (int slot = firstSlot(slots); ; slot = (slot + 1) % slots) {
+            if (idle.get(slot) == null && idle.compareAndSet(slot, null, entry)) {
+                idleCount.incrementAndGet();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Evicts the instances idling longer than the idle timeout, at most once per half timeout.
+     */
+    private void evictIdle(long now) {
+        if (idleTimeoutNanos == 0 || size.get() <= config.minSize()) {
+            return;
+        }
+        long scheduled = nextEviction.get();
+        if (now - scheduled < 0 || !nextEviction.compareAndSet(scheduled, now + idleTimeoutNanos / 2)) {
+            return;
+        }
+        for (int slot = 0; slot < idle.length(); slot++) {
+            Entry<T> entry = idle.get(slot);
+            if (entry == null || now - entry.returnedAt < idleTimeoutNanos) {
+                continue;
+            }
+            // Taken out of its slot first, so that the pool never holds more instances than slots.
+            if (!idle.compareAndSet(slot, entry, null)) {
+                continue;
+            }
+            idleCount.decrementAndGet();
+            if (!shrink()) {
+                offerIdle(entry);
+                return;
+            }
+            evictions.increment();
+            signal();
+            destroy(entry.instance);
+        }
+    }
+
+    private boolean shrink() {
+        for (int current = size.get(); current > config.minSize(); current = size.get()) {
+            if (size.compareAndSet(current, current - 1)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void destroy(T instance) {
+        log.debug("Evicting idle instance of {}", name);
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close evicted instance of {}", name, e);
+            }
+        }
+    }
+
+    /**
+     * Spreads the threads over the slots, so that they seldom contend for the same one.
+     */
+    private static int firstSlot(int slots) {
+        return (int) (Thread.currentThread().threadId() % slots);
+    }
+
+    /**
+     * An instance held by the pool, idle or borrowed.
+     */
+    static final class Entry<T> {
+        final T instance;
+        /**
+         * When the instance was last returned to the pool, in {@link System#nanoTime()} units.
+         */
+        volatile long returnedAt;
+
+        private Entry(T instance) {
+            this.instance = instance;
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.github.oxal.pool;
+
+/**
+ * A snapshot of the activity of a {@link BeanPool}.
+ *
+ * @param hits      borrows served by an idle instance, including after a wait
+ * @param misses    borrows that created a new instance, including after a wait
+ * @param waits     borrows that waited for an instance to be returned, the pool being at its maximum size
+ * @param evictions instances evicted after idling longer than the idle timeout
+ * @param size      the number of instances in the pool, borrowed or idle
+ * @param idle      the number of idle instances
+ */
+public record PoolMetrics(long hits, long misses, long waits, long evictions, int size, int idle) {
+}
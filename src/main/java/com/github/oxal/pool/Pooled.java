@@ -0,0 +1,52 @@
+package com.github.oxal.pool;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * An instance of a {@code POOLED} bean, borrowed from its {@link BeanPool}. Closing the handle returns the instance to
+ * the pool, so that it is best borrowed with try-with-resources:
+ *
+ * <pre>{@code
+ * try (Pooled<Parser> parser = ApplicationRunner.borrowBean(Parser.class)) {
+ *     parser.get().parse(input);
+ * }
+ * }</pre>
+ *
+ * Each borrow gets its own handle: once closed, a handle can neither reach the instance nor return it again, even
+ * after another borrower has taken the instance.
+ *
+ * @param <T> the type of the bean
+ */
+public final class Pooled<T> implements AutoCloseable {
+
+    private final BeanPool<T> pool;
+    private final BeanPool.Entry<T> entry;
+    private final AtomicBoolean borrowed = new AtomicBoolean(true);
+
+    Pooled(BeanPool<T> pool, BeanPool.Entry<T> entry) {
+        this.pool = pool;
+        this.entry = entry;
+    }
+
+    /**
+     * Returns the borrowed instance.
+     *
+     * @throws IllegalStateException if the instance has already been returned to the pool
+     */
+    public T get() {
+        if (!borrowed.get()) {
+            throw new IllegalStateException("Instance of " + pool.getName() + " used after being returned to its pool");
+        }
+        return entry.instance;
+    }
+
+    /**
+     * Returns the instance to the pool. Closing a handle more than once has no effect.
+     */
+    @Override
+    public void close() {
+        if (borrowed.compareAndSet(true, false)) {
+            pool.release(entry);
+        }
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.oxal.provider;
+
+import java.util.function.Supplier;
+
+/**
+ * A handle on a bean, injected into constructor or {@code @Bean} method parameters of type {@code Provider<T>} or
+ * {@code Supplier<T>}, optionally with a {@code @Qualifier}.
+ *
+ * <p>The bean definition is resolved once, when the handle is injected. Each call to {@link #get()} then returns the
+ * singleton, or creates a new instance of a prototype, without resolving the definition again.
+ *
+ * @param <T> the type of the bean
+ */
+@FunctionalInterface
+public interface Provider<T> extends Supplier<T> {
+}
@@ -1,24 +1,20 @@
 package com.github.oxal.resolver;
 
-import com.github.oxal.annotation.Primary;
+import com.github.oxal.annotation.ScopeType;
 import com.github.oxal.context.Context;
 import com.github.oxal.object.KeyDefinition;
 
-import java.lang.reflect.Executable;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
 import java.util.List;
-import java.util.stream.Collectors;
 
 public class BeanDefinitionResolver {
 
     public static KeyDefinition resolve(Class<?> beanClass, String beanName, Context context) {
-        List<KeyDefinition> candidates = resolveAll(beanClass, context);
-
-        if (beanName != null) {
-            candidates = candidates.stream().filter(key -> beanName.equals(key.getName())).toList();
-            if (candidates.size() == 1) {
-                return candidates.getFirst();
-            }
-        }
+        List<KeyDefinition> candidates = beanName != null
+                ? context.getBeanRegistry().candidates(beanClass, beanName)
+                : context.getBeanRegistry().candidates(beanClass);
 
         if (candidates.isEmpty()) {
             throw new RuntimeException("No bean definition found for type " + beanClass.getName());
@@ -29,9 +25,12 @@ public class BeanDefinitionResolver {
         }
 
         // Ambiguity exists, try to resolve with @Primary
-        List<KeyDefinition> primaryCandidates = candidates.stream()
-                .filter(key -> isPrimary(context.getBeanDefinitions().get(key)))
-                .toList();
+        List<KeyDefinition> primaryCandidates = new ArrayList<>(1);
+        for (KeyDefinition key : candidates) {
+            if (context.getBeanDefinition(key).primary()) {
+                primaryCandidates.add(key);
+            }
+        }
 
         if (primaryCandidates.size() == 1) {
             return primaryCandidates.getFirst();
@@ -44,16 +43,26 @@ public class BeanDefinitionResolver {
         throw new RuntimeException("Multiple beans found for type " + beanClass.getName() + " and none is marked as primary. Use @Qualifier to specify the bean name.");
     }
 
+    /**
+     * Returns every bean definition of the given type, sorted by {@code @Order}, beans of equal order keeping their
+     * registration order. {@code POOLED} beans are left out: they are borrowed from their pool, never loaded.
+     */
     public static List<KeyDefinition> resolveAll(Class<?> beanClass, Context context) {
-        return context.getBeanDefinitions().keySet().stream()
-                .filter(key -> beanClass.isAssignableFrom(key.getType()))
-                .collect(Collectors.toList());
+        List<KeyDefinition> candidates = context.getBeanRegistry().candidates(beanClass);
+        if (candidates.isEmpty() || candidates.size() == 1 && !isPooled(candidates.getFirst(), context)) {
+            return Collections.unmodifiableList(candidates);
+        }
+        List<KeyDefinition> sorted = new ArrayList<>(candidates.size());
+        for (KeyDefinition key : candidates) {
+            if (!isPooled(key, context)) {
+                sorted.add(key);
+            }
+        }
+        sorted.sort(Comparator.comparingInt(key -> context.getBeanDefinition(key).order()));
+        return Collections.unmodifiableList(sorted);
     }
 
-    private static boolean isPrimary(Executable executable) {
-        if (executable.isAnnotationPresent(Primary.class)) {
-            return true;
-        }
-        return executable.getDeclaringClass().isAnnotationPresent(Primary.class);
+    private static boolean isPooled(KeyDefinition key, Context context) {
+        return context.getBeanDefinition(key).scope() == ScopeType.POOLED;
     }
 }
@@ -1,21 +1,32 @@
 package com.github.oxal.runner;
 
-import com.github.oxal.annotation.Bean;
 import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.BeanMap;
 import com.github.oxal.context.Context;
 import com.github.oxal.context.ContextService;
+import com.github.oxal.context.ReclaimMetrics;
+import com.github.oxal.context.ResolutionCache;
+import com.github.oxal.context.ResolutionCache.CollectionResolution;
+import com.github.oxal.context.ResolutionCache.Resolution;
 import com.github.oxal.factory.BeanFactory;
+import com.github.oxal.factory.InjectionPlan;
 import com.github.oxal.initializer.ContextInitializer;
 import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.pool.BeanPool;
+import com.github.oxal.pool.Pooled;
+import com.github.oxal.provider.Provider;
 import com.github.oxal.resolver.BeanDefinitionResolver;
+import com.github.oxal.scope.RequestScope;
 import lombok.extern.slf4j.Slf4j;
 import org.slf4j.MDC;
 
-import java.lang.annotation.Annotation;
-import java.lang.reflect.Executable;
-import java.lang.reflect.Method;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
 
 @Slf4j
 public class ApplicationRunner {
@@ -28,94 +39,308 @@ public class ApplicationRunner {
         return loadBean(beanClass, null);
     }
 
+    /**
+     * Loads every bean of the given type, sorted by {@code @Order}, as an immutable list. When they are all singletons
+     * the same snapshot is returned on every call; otherwise the prototypes among them are created anew.
+     */
+    @SuppressWarnings("unchecked")
     public static <T> List<T> loadBeans(Class<T> beanClass) {
         log.trace("Entering loadBeans(beanClass={})", beanClass.getName());
         Context context = ContextService.getContext();
+        CollectionResolution resolution = cachedCollection(beanClass, context);
+        if (resolution.isSnapshot()) {
+            return (List<T>) resolution.list();
+        }
+        return loadAll(context, resolution.keys());
+    }
+
+    /**
+     * Loads every bean of the given type as an immutable set iterating in {@code @Order}, reusing a snapshot as
+     * {@link #loadBeans} does.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Set<T> loadBeanSet(Class<T> beanClass) {
+        log.trace("Entering loadBeanSet(beanClass={})", beanClass.getName());
+        Context context = ContextService.getContext();
+        CollectionResolution resolution = cachedCollection(beanClass, context);
+        if (resolution.isSnapshot()) {
+            return (Set<T>) resolution.set();
+        }
+        return Collections.unmodifiableSet(new LinkedHashSet<>(loadAll(context, resolution.keys())));
+    }
+
+    /**
+     * Loads every bean of the given type as an immutable map from bean name to bean, iterating in {@code @Order}. The
+     * entries are resolved once: singletons are stored in them, while the other beans are loaded on first access to
+     * each returned map, as a {@code List<T>} creates its prototypes once per injection.
+     */
+    public static <T> Map<String, T> loadBeanMap(Class<T> beanClass) {
+        log.trace("Entering loadBeanMap(beanClass={})", beanClass.getName());
+        Context context = ContextService.getContext();
+        ResolutionCache cache = context.getResolutionCache();
+        BeanMap<T> beanMap = cache.getMap(beanClass);
+        if (beanMap == null) {
+            long generation = cache.generation();
+            BeanMap.Builder<T> builder = BeanMap.builder();
+            for (KeyDefinition key : BeanDefinitionResolver.resolveAll(beanClass, context)) {
+                if (context.getInjectionPlan(key).getScope() == ScopeType.SINGLETON) {
+                    builder.put(key.getName(), loadBean(context, key));
+                } else {
+                    builder.putDeferred(key.getName(), () -> loadBean(context, key));
+                }
+            }
+            beanMap = builder.build();
+            cache.putMap(beanClass, beanMap, generation);
+        }
+        return beanMap.view();
+    }
 
-        List<KeyDefinition> keys = BeanDefinitionResolver.resolveAll(beanClass, context);
+    private static CollectionResolution cachedCollection(Class<?> beanClass, Context context) {
+        ResolutionCache cache = context.getResolutionCache();
+        CollectionResolution resolution = cache.getAll(beanClass);
+        if (resolution == null) {
+            long generation = cache.generation();
+            List<KeyDefinition> keys = BeanDefinitionResolver.resolveAll(beanClass, context);
+            boolean singletons = keys.stream().allMatch(key -> context.getInjectionPlan(key).getScope() == ScopeType.SINGLETON);
+            resolution = singletons ? CollectionResolution.ofSnapshot(loadAll(context, keys)) : CollectionResolution.ofKeys(keys);
+            cache.putAll(beanClass, resolution, generation);
+        }
+        return resolution;
+    }
 
-        return keys.stream()
-                .map(key -> (T) loadBean(key.getType(), key.getName()))
-                .toList();
+    private static <T> List<T> loadAll(Context context, List<KeyDefinition> keys) {
+        List<T> beans = new ArrayList<>(keys.size());
+        for (KeyDefinition key : keys) {
+            beans.add(loadBean(context, key));
+        }
+        return Collections.unmodifiableList(beans);
     }
 
     @SuppressWarnings("unchecked")
     public static <T> T loadBean(Class<T> beanClass, String beanName) {
-        log.trace("Entering loadBean(beanClass={}, beanName={})", beanClass.getName(), beanName);
+        if (log.isTraceEnabled()) {
+            log.trace("Entering loadBean(beanClass={}, beanName={})", beanClass.getName(), beanName);
+        }
 
         Context context = ContextService.getContext();
-        if (beanClass.equals(Context.class)) {
+        if (beanClass == Context.class) {
             log.trace("Returning context instance directly.");
             return (T) context;
         }
-        List<Object> manualCandidates = context.getSingletonInstances().entrySet().stream()
-                .filter(entry -> beanClass.isAssignableFrom(entry.getKey().getType()))
-                .filter(entry -> beanName == null || beanName.equals(entry.getKey().getName()))
-                .map(Map.Entry::getValue)
-                .toList();
+        Resolution resolution = cachedResolution(beanClass, beanName, context);
+        if (resolution.isSingleton()) {
+            return (T) resolution.singleton();
+        }
+        return loadBean(context, resolution.key());
+    }
 
-        if (manualCandidates.size() == 1) {
-            log.debug("Found unique manually registered singleton for type {}. Returning it directly.", beanClass.getName());
-            return (T) manualCandidates.getFirst();
+    /**
+     * Borrows an instance of a {@link ScopeType#POOLED} bean, to be returned to its pool by closing the handle.
+     */
+    public static <T> Pooled<T> borrowBean(Class<T> beanClass) {
+        return borrowBean(beanClass, null);
+    }
+
+    public static <T> Pooled<T> borrowBean(Class<T> beanClass, String beanName) {
+        return getPool(beanClass, beanName).borrow();
+    }
+
+    /**
+     * Returns the pool of a {@link ScopeType#POOLED} bean, creating it on first use.
+     */
+    public static <T> BeanPool<T> getPool(Class<T> beanClass, String beanName) {
+        Context context = ContextService.getContext();
+        Resolution resolution = cachedResolution(beanClass, beanName, context);
+        if (resolution.isSingleton()) {
+            log.error("Bean {} is a manually registered singleton and has no pool", beanClass.getName());
+            throw new RuntimeException("Bean " + beanClass.getName() + " is a manually registered singleton and has no pool");
         }
-        KeyDefinition key = BeanDefinitionResolver.resolve(beanClass, beanName, context);
-        MDC.put("bean", key.toString());
+        return getPool(context, resolution.key());
+    }
 
-        try {
-            if (context.isBeanInCreation(key)) {
-                log.error("Circular dependency detected for bean {}", key);
-                throw new RuntimeException("Circular dependency detected for bean: " + key);
+    public static <T> BeanPool<T> getPool(KeyDefinition key) {
+        return getPool(ContextService.getContext(), key);
+    }
+
+    private static <T> BeanPool<T> getPool(Context context, KeyDefinition key) {
+        InjectionPlan plan = context.getInjectionPlan(key);
+        if (plan.getScope() != ScopeType.POOLED) {
+            log.error("Bean [{}] has scope {} and has no pool", key, plan.getScope());
+            throw new RuntimeException("Bean [" + key + "] has scope " + plan.getScope() + " and has no pool");
+        }
+        return context.getOrCreatePool(key, () -> new BeanPool<>(key.toString(), context.getBeanDefinition(key).pool(),
+                () -> createBean(context, key, plan, false)));
+    }
+
+    /**
+     * Returns how many times the instance of a {@link ScopeType#SOFT} or {@link ScopeType#WEAK} bean was reclaimed and
+     * rebuilt.
+     */
+    public static ReclaimMetrics getReclaimMetrics(Class<?> beanClass, String beanName) {
+        Context context = ContextService.getContext();
+        Resolution resolution = cachedResolution(beanClass, beanName, context);
+        if (resolution.isSingleton()) {
+            return new ReclaimMetrics(0, 0);
+        }
+        return context.getReclaimMetrics(resolution.key());
+    }
+
+    private static Resolution cachedResolution(Class<?> beanClass, String beanName, Context context) {
+        ResolutionCache cache = context.getResolutionCache();
+        Resolution resolution = cache.get(beanClass, beanName);
+        if (resolution == null) {
+            long generation = cache.generation();
+            resolution = resolve(beanClass, beanName, context);
+            cache.put(beanClass, beanName, resolution, generation);
+        }
+        return resolution;
+    }
+
+    /**
+     * Loads the bean of an already resolved definition, skipping the resolution by type and name.
+     */
+    public static <T> T loadBean(KeyDefinition key) {
+        return loadBean(ContextService.getContext(), key);
+    }
+
+    /**
+     * Resolves the bean now and returns a handle that loads it on each {@link Provider#get()} without resolving it
+     * again.
+     */
+    @SuppressWarnings("unchecked")
+    public static <T> Provider<T> getProvider(Class<T> beanClass, String beanName) {
+        Context context = ContextService.getContext();
+        if (beanClass.equals(Context.class)) {
+            return () -> (T) context;
+        }
+        Resolution resolution = resolve(beanClass, beanName, context);
+        if (resolution.isSingleton()) {
+            T singleton = (T) resolution.singleton();
+            return () -> singleton;
+        }
+        KeyDefinition key = resolution.key();
+        return () -> loadBean(context, key);
+    }
+
+    /**
+     * Loads the bean of a resolved definition. Returning an existing singleton allocates nothing: the MDC entry and
+     * the creation bookkeeping are only set up when an instance has to be created. Only singleton definitions have an
+     * instance stored under their key, so it is looked up before the injection plan.
+     */
+    @SuppressWarnings("unchecked")
+    static <T> T loadBean(Context context, KeyDefinition key) {
+        Object existing = context.getSingleton(key);
+        if (existing != null) {
+            return (T) existing;
+        }
+        InjectionPlan plan = context.getInjectionPlan(key);
+        if (plan.getScope() == ScopeType.SOFT || plan.getScope() == ScopeType.WEAK) {
+            Object live = context.getReclaimable(key);
+            if (live != null) {
+                return (T) live;
             }
+        }
+        if (plan.getScope() == ScopeType.POOLED) {
+            log.error("Bean [{}] is POOLED and must be borrowed from its pool", key);
+            throw new RuntimeException("Bean [" + key + "] is POOLED: borrow it with ApplicationRunner.borrowBean or inject its BeanPool");
+        }
+        return createBean(context, key, plan, false);
+    }
 
-            Executable executable = context.getBeanDefinitions().get(key);
-            ScopeType scope = findBeanScope(executable);
+    /**
+     * Returns the instance hosting the {@code @Bean} methods of a class, given the plan of its host: the bean of the
+     * class when it is itself a bean, else a host instance shared by all of its methods, unless its scope is
+     * {@link ScopeType#PROTOTYPE}.
+     */
+    public static Object loadHost(InjectionPlan hostPlan) {
+        Context context = ContextService.getContext();
+        KeyDefinition key = hostPlan.getKey();
+        Object existing = context.getHost(key);
+        if (existing != null) {
+            return existing;
+        }
+        for (KeyDefinition candidate : context.getBeanRegistry().candidates(key.getType())) {
+            if (candidate.getType() == key.getType()) {
+                return loadBean(context, candidate);
+            }
+        }
+        return createBean(context, key, hostPlan, true);
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <T> T createBean(Context context, KeyDefinition key, InjectionPlan plan, boolean host) {
+        ScopeType scope = plan.getScope();
+
+        MDC.put("bean", key.toString());
+        try {
+            context.checkNotInCreation(key);
             log.trace("Resolved bean [{}] with scope {}", key, scope);
 
-            if (scope == ScopeType.PROTOTYPE) {
-                log.debug("Creating new PROTOTYPE instance for bean [{}]", key);
-                return BeanFactory.createBeanInstance(executable);
+            if (scope == ScopeType.PROTOTYPE || scope == ScopeType.POOLED) {
+                log.debug("Creating new {} instance for bean [{}]", scope, key);
+                context.markAsInCreation(key);
+                try {
+                    return BeanFactory.createBeanInstance(plan);
+                } finally {
+                    context.unmarkAsInCreation(key);
+                }
             }
 
-            // Handle singletons
-            if (context.isSingletonRegistered(key)) {
-                log.debug("Returning cached SINGLETON instance for bean [{}]", key);
-                return (T) context.getSingleton(key);
+            if (scope == ScopeType.REQUEST) {
+                return RequestScope.current().getOrCreate(key, () -> {
+                    log.debug("Creating new REQUEST instance for bean [{}]", key);
+                    context.markAsInCreation(key);
+                    try {
+                        return BeanFactory.createBeanInstance(plan);
+                    } finally {
+                        context.unmarkAsInCreation(key);
+                    }
+                });
             }
 
-            log.debug("Creating new SINGLETON instance for bean [{}]", key);
-            context.markAsInCreation(key);
-            try {
-                T beanInstance = BeanFactory.createBeanInstance(executable);
-                context.registerSingleton(key, beanInstance);
-                log.debug("Successfully created and cached singleton bean [{}]", key);
-                return beanInstance;
-            } finally {
-                context.unmarkAsInCreation(key);
+            Supplier<T> factory = () -> {
+                log.debug("Creating new {} instance for bean [{}]", scope, key);
+                context.markAsInCreation(key);
+                try {
+                    T beanInstance = BeanFactory.createBeanInstance(plan);
+                    log.debug("Successfully created and cached {} bean [{}]", scope, key);
+                    return beanInstance;
+                } finally {
+                    context.unmarkAsInCreation(key);
+                }
+            };
+            if (scope == ScopeType.SOFT || scope == ScopeType.WEAK) {
+                return context.getOrCreateReclaimable(key, scope, factory);
+            }
+            if (scope == ScopeType.REFRESHABLE) {
+                return context.getOrCreateSingleton(key, () -> {
+                    T beanInstance = factory.get();
+                    context.scheduleRefresh(key, context.getBeanDefinition(key).refresh(), factory);
+                    return beanInstance;
+                });
             }
+            return host ? context.getOrCreateHost(key, factory) : context.getOrCreateSingleton(key, factory);
         } finally {
             MDC.remove("bean");
         }
     }
 
-    private static ScopeType findBeanScope(Executable executable) {
-        for (Annotation annotation : executable.getAnnotations()) {
-            if (annotation.annotationType().isAnnotationPresent(Bean.class) || annotation.annotationType().getName().equals(Bean.class.getName())) {
-                try {
-                    Method scopeMethod = annotation.annotationType().getMethod("scope");
-                    return (ScopeType) scopeMethod.invoke(annotation);
-                } catch (Exception e) { /* Ignore */ }
-            }
-        }
-        if (executable instanceof java.lang.reflect.Constructor) {
-            for (Annotation annotation : executable.getDeclaringClass().getAnnotations()) {
-                if (annotation.annotationType().isAnnotationPresent(Bean.class) || annotation.annotationType().getName().equals(Bean.class.getName())) {
-                    try {
-                        Method scopeMethod = annotation.annotationType().getMethod("scope");
-                        return (ScopeType) scopeMethod.invoke(annotation);
-                    } catch (Exception e) { /* Ignore */ }
+    static Resolution resolve(Class<?> beanClass, String beanName, Context context) {
+        Object manualCandidate = null;
+        int manualCandidateCount = 0;
+        for (KeyDefinition candidate : context.getRegisteredSingletons()) {
+            if (beanClass.isAssignableFrom(candidate.getType()) && (beanName == null || beanName.equals(candidate.getName()))) {
+                manualCandidate = context.getSingleton(candidate);
+                if (++manualCandidateCount > 1) {
+                    break;
                 }
             }
         }
-        return ScopeType.SINGLETON;
+
+        if (manualCandidateCount == 1) {
+            log.debug("Found unique manually registered singleton for type {}. Returning it directly.", beanClass.getName());
+            return Resolution.ofSingleton(manualCandidate);
+        }
+        return Resolution.ofKey(BeanDefinitionResolver.resolve(beanClass, beanName, context));
     }
 }
@@ -0,0 +1,94 @@
+package com.github.oxal.runner;
+
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.Context;
+import com.github.oxal.context.ContextService;
+import com.github.oxal.context.ResolutionCache.Resolution;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.provider.Provider;
+import lombok.extern.slf4j.Slf4j;
+
+/**
+ * A handle on a bean for hot paths, meant to be kept in a {@code static final} field:
+ * <pre>{@code
+ * private static final BeanRef<PriceService> PRICES = BeanRef.of(PriceService.class);
+ * ...
+ * PRICES.get().price(item);
+ * }</pre>
+ * The bean is resolved on the first {@link #get()}, against the context loaded at that time, which must not be
+ * replaced afterwards. Later calls return a singleton with a single field read and no allocation, and create
+ * prototypes without resolving them again.
+ *
+ * @param <T> the type of the bean
+ */
+@Slf4j
+public final class BeanRef<T> {
+
+    private final Class<T> type;
+    private final String name;
+
+    private volatile T singleton;
+    private volatile Provider<T> provider;
+
+    private BeanRef(Class<T> type, String name) {
+        this.type = type;
+        this.name = name;
+    }
+
+    public static <T> BeanRef<T> of(Class<T> type) {
+        return new BeanRef<>(type, null);
+    }
+
+    public static <T> BeanRef<T> of(Class<T> type, String name) {
+        return new BeanRef<>(type, name);
+    }
+
+    public T get() {
+        T instance = singleton;
+        if (instance != null) {
+            return instance;
+        }
+        Provider<T> current = provider;
+        if (current == null) {
+            current = bind();
+        }
+        return current.get();
+    }
+
+    @SuppressWarnings("unchecked")
+    private synchronized Provider<T> bind() {
+        if (provider != null) {
+            return provider;
+        }
+        log.debug("Binding bean reference to type {} and name {}", type.getName(), name);
+        Context context = ContextService.getContext();
+        if (type.equals(Context.class)) {
+            singleton = (T) context;
+            provider = () -> singleton;
+            return provider;
+        }
+
+        Resolution resolution = ApplicationRunner.resolve(type, name, context);
+        if (resolution.isSingleton()) {
+            singleton = (T) resolution.singleton();
+            provider = () -> singleton;
+        } else {
+            KeyDefinition key = resolution.key();
+            if (context.getInjectionPlan(key).getScope() == ScopeType.SINGLETON) {
+                provider = () -> {
+                    T instance = ApplicationRunner.loadBean(context, key);
+                    singleton = instance;
+                    return instance;
+                };
+            } else {
+                provider = () -> ApplicationRunner.loadBean(context, key);
+            }
+        }
+        return provider;
+    }
+
+    @Override
+    public String toString() {
+        return "BeanRef(type=" + type.getName() + ", name=" + name + ")";
+    }
+}
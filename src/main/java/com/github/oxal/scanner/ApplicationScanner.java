@@ -5,16 +5,22 @@ import com.github.oxal.annotation.context.AfterContextLoad;
 import com.github.oxal.annotation.context.BeforeContextLoad;
 import com.github.oxal.context.Context;
 import com.github.oxal.context.ContextService;
-import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.object.BeanDefinition;
 import io.github.classgraph.MethodInfo;
 import io.github.classgraph.ScanResult;
 import lombok.extern.slf4j.Slf4j;
 
 import java.lang.annotation.Annotation;
+import java.lang.reflect.Executable;
 import java.lang.reflect.Method;
 import java.lang.reflect.Modifier;
+import java.lang.reflect.ParameterizedType;
+import java.lang.reflect.Type;
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
+import java.util.stream.Stream;
 
 @Slf4j
 public class ApplicationScanner {
@@ -24,6 +30,48 @@ public class ApplicationScanner {
                 .stream()
                 .flatMap(ci -> ci.getMethodInfo().filter(mi -> mi.hasAnnotation(BeforeContextLoad.class.getName())).stream())
                 .map(MethodInfo::loadClassAndGetMethod)
+                .toList();
+        executeBeforeCallbacks(beforeCallbacks, scanResult);
+    }
+
+    /**
+     * Executes the {@code @BeforeContextLoad} callbacks declared by the classes listed in the index. No classpath scan
+     * takes place, so none of them may expect a {@link ScanResult}: see {@link #requiresScanResult}.
+     */
+    public static void executeBeforeCallbacks(BeanIndex index, ClassLoader classLoader) {
+        List<Method> beforeCallbacks = index.getBeforeCallbackClasses().stream()
+                .map(className -> loadClass(className, classLoader))
+                .flatMap(clazz -> Arrays.stream(clazz.getDeclaredMethods()))
+                .filter(method -> method.isAnnotationPresent(BeforeContextLoad.class))
+                .toList();
+        for (Method callback : beforeCallbacks) {
+            if (callback.getParameterCount() == 1) {
+                log.error("@BeforeContextLoad method {} expects a ScanResult, which the bean index does not provide", callback);
+                throw new RuntimeException("@BeforeContextLoad method " + callback.getName() + " expects a ScanResult, which the bean index does not provide");
+            }
+        }
+        executeBeforeCallbacks(beforeCallbacks, null);
+    }
+
+    /**
+     * Tells whether a class listed in the index expects the {@link ScanResult} of a classpath scan: a lifecycle
+     * callback taking one, or a bean injecting it. Such a context cannot be loaded from the index alone.
+     */
+    public static boolean requiresScanResult(BeanIndex index, ClassLoader classLoader) {
+        for (String className : index.getBeanClasses()) {
+            for (Executable constructor : loadClass(className, classLoader).getDeclaredConstructors()) {
+                if (expectsScanResult(constructor)) {
+                    return true;
+                }
+            }
+        }
+        return expectsScanResult(index.getMethodBeanClasses(), Bean.class, classLoader)
+                || expectsScanResult(index.getBeforeCallbackClasses(), BeforeContextLoad.class, classLoader)
+                || expectsScanResult(index.getAfterCallbackClasses(), AfterContextLoad.class, classLoader);
+    }
+
+    private static void executeBeforeCallbacks(List<Method> callbacks, ScanResult scanResult) {
+        List<Method> beforeCallbacks = callbacks.stream()
                 .peek(ApplicationScanner::validateBeforeCallback)
                 .sorted(Comparator.comparingInt(m -> m.getAnnotation(BeforeContextLoad.class).order()))
                 .toList();
@@ -55,74 +103,63 @@ public class ApplicationScanner {
         scanAfterCallbacks(scanResult, context);
     }
 
-    private static void scanBeans(ScanResult scanResult, Context context) {
-        String beanAnnotationName = Bean.class.getName();
-
-        scanResult.getClassesWithAnnotation(beanAnnotationName).loadClasses(true).forEach(clazz -> {
-            if (clazz.isAnnotation()) {
-                return;
-            }
-
-            if (clazz.getConstructors().length > 1) {
-                log.error("Class {} has more than one constructor, which is not supported for auto-detection.", clazz.getSimpleName());
-                throw new RuntimeException("More than one constructor found for " + clazz.getSimpleName());
-            }
-            KeyDefinition key = KeyDefinition.builder().type(clazz).build();
-
-            for (Annotation annotation : clazz.getAnnotations()) {
-                if (annotation.annotationType().isAnnotationPresent(Bean.class) || annotation.annotationType().getName().equals(beanAnnotationName)) {
-                    try {
-                        Method valueMethod = annotation.annotationType().getMethod("value");
-                        String value = (String) valueMethod.invoke(annotation);
-                        if (!Bean.DEFAULT.equals(value)) {
-                            key.setName(value);
-                        }
-                    } catch (NoSuchMethodException e) {
-                        // Annotation doesn't have a 'value' attribute, ignore.
-                    } catch (Exception e) {
-                        log.error("Error reading bean properties from annotation {} on class {}", annotation, clazz.getName(), e);
-                        throw new RuntimeException("Error reading bean properties", e);
-                    }
-                    break;
+    /**
+     * Populates the context from a compile-time {@link BeanIndex} instead of a classpath scan.
+     */
+    public static void populateContextFromIndex(BeanIndex index, ClassLoader classLoader) {
+        Context context = ContextService.getContext();
+        log.debug("Registering bean definitions from the bean index...");
+        index.getBeanClasses().forEach(className -> registerClassBean(loadClass(className, classLoader), context));
+        index.getMethodBeanClasses().forEach(className -> {
+            for (Method method : loadClass(className, classLoader).getDeclaredMethods()) {
+                if (method.isAnnotationPresent(Bean.class)) {
+                    registerMethodBean(method, context);
                 }
             }
-            log.debug("Found class-based bean definition: {}", key);
-            context.addBeanDefinition(key, clazz.getConstructors()[0]);
         });
+        log.debug("Registering @AfterContextLoad callbacks from the bean index...");
+        registerAfterCallbacks(index.getAfterCallbackClasses().stream()
+                .map(className -> loadClass(className, classLoader))
+                .flatMap(clazz -> Arrays.stream(clazz.getDeclaredMethods()))
+                .filter(method -> method.isAnnotationPresent(AfterContextLoad.class)), context);
+    }
+
+    private static void scanBeans(ScanResult scanResult, Context context) {
+        String beanAnnotationName = Bean.class.getName();
+
+        scanResult.getClassesWithAnnotation(beanAnnotationName).loadClasses(true)
+                .forEach(clazz -> registerClassBean(clazz, context));
 
         scanResult.getClassesWithMethodAnnotation(beanAnnotationName).forEach(classInfo ->
-                classInfo.getMethodInfo().filter(mi -> mi.hasAnnotation(beanAnnotationName)).forEach(methodInfo -> {
-                    Method method = methodInfo.loadClassAndGetMethod();
-                    KeyDefinition key = KeyDefinition.builder().name(method.getName()).type(method.getReturnType()).build();
-
-                    for (Annotation annotation : method.getAnnotations()) {
-                        if (annotation.annotationType().isAnnotationPresent(Bean.class) || annotation.annotationType().getName().equals(beanAnnotationName)) {
-                            try {
-                                Method valueMethod = annotation.annotationType().getMethod("value");
-                                String value = (String) valueMethod.invoke(annotation);
-                                if (!Bean.DEFAULT.equals(value)) {
-                                    key.setName(value);
-                                }
-                            } catch (NoSuchMethodException e) {
-                                // Annotation doesn't have a 'value' attribute, ignore.
-                            } catch (Exception e) {
-                                log.error("Error reading bean properties from annotation {} on method {}", annotation, method.getName(), e);
-                                throw new RuntimeException("Error reading bean properties", e);
-                            }
-                            break;
-                        }
-                    }
-                    log.debug("Found method-based bean definition: {}", key);
-                    context.addBeanDefinition(key, method);
-                })
+                classInfo.getMethodInfo().filter(mi -> mi.hasAnnotation(beanAnnotationName))
+                        .forEach(methodInfo -> registerMethodBean(methodInfo.loadClassAndGetMethod(), context))
         );
     }
 
+    private static void registerClassBean(Class<?> clazz, Context context) {
+        if (clazz.isAnnotation()) {
+            return;
+        }
+        BeanDefinition definition = BeanDefinitionReader.read(clazz);
+        log.debug("Found class-based bean definition: {}", definition.key());
+        context.addBeanDefinition(definition);
+    }
+
+    private static void registerMethodBean(Method method, Context context) {
+        BeanDefinition definition = BeanDefinitionReader.read(method);
+        log.debug("Found method-based bean definition: {}", definition.key());
+        context.addBeanDefinition(definition);
+    }
+
     private static void scanAfterCallbacks(ScanResult scanResult, Context context) {
-        scanResult.getClassesWithMethodAnnotation(AfterContextLoad.class.getName())
+        registerAfterCallbacks(scanResult.getClassesWithMethodAnnotation(AfterContextLoad.class.getName())
                 .stream()
                 .flatMap(ci -> ci.getMethodInfo().filter(mi -> mi.hasAnnotation(AfterContextLoad.class.getName())).stream())
-                .map(MethodInfo::loadClassAndGetMethod)
+                .map(MethodInfo::loadClassAndGetMethod), context);
+    }
+
+    private static void registerAfterCallbacks(Stream<Method> callbacks, Context context) {
+        callbacks
                 .peek(ApplicationScanner::validateAfterCallback)
                 .sorted(Comparator.comparingInt(m -> m.getAnnotation(AfterContextLoad.class).order()))
                 .forEach(callback -> {
@@ -131,6 +168,37 @@ public class ApplicationScanner {
                 });
     }
 
+    private static boolean expectsScanResult(Set<String> classNames, Class<? extends Annotation> annotation, ClassLoader classLoader) {
+        for (String className : classNames) {
+            for (Method method : loadClass(className, classLoader).getDeclaredMethods()) {
+                if (method.isAnnotationPresent(annotation) && expectsScanResult(method)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    private static boolean expectsScanResult(Executable executable) {
+        for (Type type : executable.getGenericParameterTypes()) {
+            if (type == ScanResult.class || type instanceof ParameterizedType parameterized
+                    && Arrays.asList(parameterized.getActualTypeArguments()).contains(ScanResult.class)) {
+                log.debug("{} expects a ScanResult", executable);
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static Class<?> loadClass(String className, ClassLoader classLoader) {
+        try {
+            return Class.forName(className, true, classLoader);
+        } catch (ClassNotFoundException e) {
+            log.error("Class {} listed in the bean index cannot be loaded", className, e);
+            throw new RuntimeException("Class listed in the bean index cannot be loaded: " + className, e);
+        }
+    }
+
     private static void validateBeforeCallback(Method method) {
         if (!Modifier.isPublic(method.getModifiers())) {
             log.error("@BeforeContextLoad method must be public: {}", method);
@@ -0,0 +1,220 @@
+package com.github.oxal.scanner;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.BeanHost;
+import com.github.oxal.annotation.Configuration;
+import com.github.oxal.annotation.Lazy;
+import com.github.oxal.annotation.Order;
+import com.github.oxal.annotation.Primary;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.object.BeanDefinition;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.object.PoolConfig;
+import com.github.oxal.object.RefreshConfig;
+import lombok.extern.slf4j.Slf4j;
+
+import java.lang.annotation.Annotation;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.Executable;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Reads the {@link BeanDefinition} of a bean class or {@code @Bean} method from its annotations and meta-annotations.
+ */
+@Slf4j
+public class BeanDefinitionReader {
+
+    /**
+     * Reads the definition of a bean class, named after its bean annotation if it gives a name.
+     */
+    public static BeanDefinition read(Class<?> clazz) {
+        if (clazz.getConstructors().length > 1) {
+            log.error("Class {} has more than one constructor, which is not supported for auto-detection.", clazz.getSimpleName());
+            throw new RuntimeException("More than one constructor found for " + clazz.getSimpleName());
+        }
+        Constructor<?> constructor = clazz.getConstructors()[0];
+        List<Annotation> beanAnnotations = findBeanAnnotations(constructor);
+        String name = findName(beanAnnotations, clazz.getName());
+        return read(KeyDefinition.builder().type(clazz).name(name).build(), constructor, beanAnnotations);
+    }
+
+    /**
+     * Reads the definition of a {@code @Bean} method, named after its bean annotation or else the method.
+     */
+    public static BeanDefinition read(Method method) {
+        List<Annotation> beanAnnotations = findBeanAnnotations(method);
+        String name = findName(beanAnnotations, method.getName());
+        KeyDefinition key = KeyDefinition.builder().type(method.getReturnType()).name(name != null ? name : method.getName()).build();
+        return read(key, method, beanAnnotations);
+    }
+
+    /**
+     * Reads the definition of the instance hosting a {@code @Bean} method, or returns {@code null} for a static method.
+     * The host is created through the single public constructor of its class, or else its no-arg constructor, in the
+     * scope given by {@link BeanHost}.
+     */
+    public static BeanDefinition readHost(Method method) {
+        if (Modifier.isStatic(method.getModifiers())) {
+            return null;
+        }
+        Class<?> hostClass = method.getDeclaringClass();
+        BeanHost beanHost = hostClass.getAnnotation(BeanHost.class);
+        KeyDefinition key = KeyDefinition.builder().type(hostClass).name(hostClass.getName()).build();
+        Constructor<?> constructor = findHostConstructor(hostClass);
+        ScopeType scope = beanHost != null ? beanHost.scope() : ScopeType.SINGLETON;
+        if (scope == ScopeType.POOLED) {
+            log.error("@BeanHost of {} cannot be POOLED", hostClass.getName());
+            throw new RuntimeException("@BeanHost of " + hostClass.getName() + " cannot be POOLED: use SINGLETON or PROTOTYPE.");
+        }
+        return new BeanDefinition(key, constructor, null, scope, false, false, Order.LOWEST, findConfigurationPrefix(constructor), null, null);
+    }
+
+    /**
+     * Reads the definition of a bean registered under the given key.
+     */
+    public static BeanDefinition read(KeyDefinition key, Executable executable) {
+        return read(key, executable, findBeanAnnotations(executable));
+    }
+
+    private static BeanDefinition read(KeyDefinition key, Executable executable, List<Annotation> beanAnnotations) {
+        ScopeType scope = findScope(beanAnnotations);
+        return new BeanDefinition(
+                key,
+                executable,
+                beanAnnotations.isEmpty() ? null : beanAnnotations.getFirst().annotationType(),
+                scope,
+                isPrimary(executable),
+                isLazy(executable),
+                findOrder(executable),
+                findConfigurationPrefix(executable),
+                scope == ScopeType.POOLED ? findPoolConfig(key, beanAnnotations) : null,
+                scope == ScopeType.REFRESHABLE ? findRefreshConfig(key, beanAnnotations) : null);
+    }
+
+    /**
+     * Returns the annotations declaring a bean, directly or as stereotypes: those of the executable, then for a
+     * constructor those of its class.
+     */
+    private static List<Annotation> findBeanAnnotations(Executable executable) {
+        List<Annotation> beanAnnotations = new ArrayList<>();
+        addBeanAnnotations(executable.getAnnotations(), beanAnnotations);
+        if (executable instanceof Constructor) {
+            addBeanAnnotations(executable.getDeclaringClass().getAnnotations(), beanAnnotations);
+        }
+        return beanAnnotations;
+    }
+
+    private static void addBeanAnnotations(Annotation[] annotations, List<Annotation> beanAnnotations) {
+        for (Annotation annotation : annotations) {
+            if (annotation.annotationType().isAnnotationPresent(Bean.class) || annotation.annotationType().getName().equals(Bean.class.getName())) {
+                beanAnnotations.add(annotation);
+            }
+        }
+    }
+
+    /**
+     * Returns the name given by the first bean annotation, or {@code null} if it gives none.
+     */
+    private static String findName(List<Annotation> beanAnnotations, String element) {
+        if (beanAnnotations.isEmpty()) {
+            return null;
+        }
+        Annotation annotation = beanAnnotations.getFirst();
+        try {
+            Method valueMethod = annotation.annotationType().getMethod("value");
+            String value = (String) valueMethod.invoke(annotation);
+            return Bean.DEFAULT.equals(value) ? null : value;
+        } catch (NoSuchMethodException e) {
+            // Annotation doesn't have a 'value' attribute, ignore.
+            return null;
+        } catch (Exception e) {
+            log.error("Error reading bean properties from annotation {} on {}", annotation, element, e);
+            throw new RuntimeException("Error reading bean properties", e);
+        }
+    }
+
+    private static ScopeType findScope(List<Annotation> beanAnnotations) {
+        for (Annotation annotation : beanAnnotations) {
+            try {
+                Method scopeMethod = annotation.annotationType().getMethod("scope");
+                return (ScopeType) scopeMethod.invoke(annotation);
+            } catch (Exception e) { /* Ignore */ }
+        }
+        return ScopeType.SINGLETON;
+    }
+
+    /**
+     * Reads the pool sizing from the {@code @Bean} annotation, stereotypes using the defaults.
+     */
+    private static PoolConfig findPoolConfig(KeyDefinition key, List<Annotation> beanAnnotations) {
+        PoolConfig config = beanAnnotations.stream()
+                .filter(Bean.class::isInstance)
+                .map(Bean.class::cast)
+                .findFirst()
+                .map(bean -> new PoolConfig(bean.poolMinSize(), bean.poolMaxSize(), bean.poolIdleTimeoutMillis()))
+                .orElse(PoolConfig.DEFAULT);
+        if (config.maxSize() < 1 || config.minSize() < 0 || config.minSize() > config.maxSize() || config.idleTimeoutMillis() < 0) {
+            log.error("Invalid pool sizing for bean {}: {}", key, config);
+            throw new RuntimeException("Invalid pool sizing for bean " + key + ": " + config);
+        }
+        return config;
+    }
+
+    private static RefreshConfig findRefreshConfig(KeyDefinition key, List<Annotation> beanAnnotations) {
+        RefreshConfig config = beanAnnotations.stream()
+                .filter(Bean.class::isInstance)
+                .map(Bean.class::cast)
+                .findFirst()
+                .map(bean -> new RefreshConfig(bean.refreshTtlMillis(), bean.refreshGraceMillis()))
+                .orElse(RefreshConfig.DEFAULT);
+        if (config.ttlMillis() < 1 || config.graceMillis() < 0) {
+            log.error("Invalid refresh period for bean {}: {}", key, config);
+            throw new RuntimeException("Invalid refresh period for bean " + key + ": " + config);
+        }
+        return config;
+    }
+
+    private static boolean isPrimary(Executable executable) {
+        if (executable.isAnnotationPresent(Primary.class)) {
+            return true;
+        }
+        return executable.getDeclaringClass().isAnnotationPresent(Primary.class);
+    }
+
+    private static boolean isLazy(Executable executable) {
+        if (executable.isAnnotationPresent(Lazy.class)) {
+            return true;
+        }
+        return executable instanceof Constructor && executable.getDeclaringClass().isAnnotationPresent(Lazy.class);
+    }
+
+    private static int findOrder(Executable executable) {
+        Order order = executable.getAnnotation(Order.class);
+        if (order == null && executable instanceof Constructor) {
+            order = executable.getDeclaringClass().getAnnotation(Order.class);
+        }
+        return order != null ? order.value() : Order.LOWEST;
+    }
+
+    private static Constructor<?> findHostConstructor(Class<?> hostClass) {
+        Constructor<?>[] constructors = hostClass.getConstructors();
+        if (constructors.length == 1) {
+            return constructors[0];
+        }
+        try {
+            return hostClass.getDeclaredConstructor();
+        } catch (NoSuchMethodException e) {
+            log.error("Class {} must have a single public constructor or a no-arg constructor to host @Bean methods.", hostClass.getSimpleName(), e);
+            throw new RuntimeException(hostClass.getSimpleName() + " must have a single public constructor or a no-arg constructor to host @Bean methods.", e);
+        }
+    }
+
+    private static String findConfigurationPrefix(Executable executable) {
+        Class<?> beanType = executable instanceof Method method ? method.getReturnType() : executable.getDeclaringClass();
+        Configuration configuration = beanType.getAnnotation(Configuration.class);
+        return configuration == null ? null : configuration.prefix();
+    }
+}
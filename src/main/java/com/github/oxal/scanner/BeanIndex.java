@@ -0,0 +1,181 @@
+package com.github.oxal.scanner;
+
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.charset.StandardCharsets;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * The classes relevant to the context, as listed by the index that {@code tiny-bean-processor} writes at compile time.
+ * <p>
+ * Each line of {@value #LOCATION} is {@code <category>=<binary class name>}, where the category is one of
+ * {@code bean} (class annotated with {@code @Bean} or a stereotype), {@code method} (class declaring {@code @Bean}
+ * methods), {@code before} and {@code after} (classes declaring lifecycle callbacks). Lines starting with {@code #}
+ * are comments. Every index found on the classpath is merged.
+ */
+@Getter
+@Slf4j
+public class BeanIndex {
+
+    public static final String LOCATION = "META-INF/tiny-bean/bean.index";
+
+    private final Set<String> beanClasses = new LinkedHashSet<>();
+    private final Set<String> methodBeanClasses = new LinkedHashSet<>();
+    private final Set<String> beforeCallbackClasses = new LinkedHashSet<>();
+    private final Set<String> afterCallbackClasses = new LinkedHashSet<>();
+    /**
+     * The canonical paths of the classpath entries the indexes were read from.
+     */
+    private final Set<String> indexRoots = new LinkedHashSet<>();
+
+    /**
+     * Loads and merges every index visible from the given class loader.
+     *
+     * @return the merged index, or {@code null} if the class loader sees no index
+     */
+    public static BeanIndex load(ClassLoader classLoader) {
+        Enumeration<URL> resources;
+        try {
+            resources = classLoader.getResources(LOCATION);
+        } catch (IOException e) {
+            log.warn("Unable to look up bean indexes, falling back to classpath scanning", e);
+            return null;
+        }
+        if (!resources.hasMoreElements()) {
+            return null;
+        }
+
+        BeanIndex index = new BeanIndex();
+        for (URL resource : Collections.list(resources)) {
+            log.debug("Reading bean index {}", resource);
+            String root = rootOf(resource, LOCATION);
+            if (root != null) {
+                index.indexRoots.add(root);
+            }
+            try (InputStream input = resource.openStream()) {
+                index.read(input);
+            } catch (IOException e) {
+                throw new RuntimeException("Unable to read bean index " + resource, e);
+            }
+        }
+        return index;
+    }
+
+    /**
+     * Returns a copy of this index restricted to the classes of the given packages and their sub-packages.
+     */
+    public BeanIndex filter(String[] packages) {
+        BeanIndex filtered = new BeanIndex();
+        copyMatching(beanClasses, filtered.beanClasses, packages);
+        copyMatching(methodBeanClasses, filtered.methodBeanClasses, packages);
+        copyMatching(beforeCallbackClasses, filtered.beforeCallbackClasses, packages);
+        copyMatching(afterCallbackClasses, filtered.afterCallbackClasses, packages);
+        return filtered;
+    }
+
+    /**
+     * Returns the given classpath entries that hold neither an index nor a class of the given packages listed in one.
+     * They may hold classes compiled without the processor, even in packages the index covers, and so must be scanned.
+     */
+    public List<File> unindexedEntries(List<File> classpath, String[] packages, ClassLoader classLoader) {
+        Set<String> indexed = new HashSet<>(indexRoots);
+        BeanIndex listed = filter(packages);
+        for (Set<String> classNames : List.of(listed.beanClasses, listed.methodBeanClasses, listed.beforeCallbackClasses, listed.afterCallbackClasses)) {
+            for (String className : classNames) {
+                String resource = className.replace('.', '/') + ".class";
+                URL url = classLoader.getResource(resource);
+                String root = url != null ? rootOf(url, resource) : null;
+                if (root != null) {
+                    indexed.add(root);
+                }
+            }
+        }
+        return classpath.stream().filter(entry -> !indexed.contains(ScanCache.canonicalPath(entry))).toList();
+    }
+
+    public int size() {
+        return beanClasses.size() + methodBeanClasses.size() + beforeCallbackClasses.size() + afterCallbackClasses.size();
+    }
+
+    private void read(InputStream input) throws IOException {
+        BufferedReader reader = new BufferedReader(new InputStreamReader(input, StandardCharsets.UTF_8));
+        String line;
+        while ((line = reader.readLine()) != null) {
+            line = line.strip();
+            if (line.isEmpty() || line.startsWith("#")) {
+                continue;
+            }
+            int separator = line.indexOf('=');
+            if (separator < 0) {
+                throw new IOException("Malformed bean index line: " + line);
+            }
+            add(line.substring(0, separator).strip(), line.substring(separator + 1).strip());
+        }
+    }
+
+    void add(String category, String className) {
+        switch (category) {
+            case "bean" -> beanClasses.add(className);
+            case "method" -> methodBeanClasses.add(className);
+            case "before" -> beforeCallbackClasses.add(className);
+            case "after" -> afterCallbackClasses.add(className);
+            default -> log.warn("Ignoring unknown bean index entry: {}={}", category, className);
+        }
+    }
+
+    public void addAll(BeanIndex other) {
+        beanClasses.addAll(other.beanClasses);
+        methodBeanClasses.addAll(other.methodBeanClasses);
+        beforeCallbackClasses.addAll(other.beforeCallbackClasses);
+        afterCallbackClasses.addAll(other.afterCallbackClasses);
+    }
+
+    /**
+     * Returns the canonical path of the classpath entry holding the given resource, or {@code null} if it is neither a
+     * directory nor a jar file.
+     */
+    private static String rootOf(URL url, String resource) {
+        try {
+            if (url.getProtocol().equals("jar")) {
+                String path = url.getPath();
+                int separator = path.indexOf("!/");
+                return separator < 0 ? null : ScanCache.canonicalPath(new File(new URI(path.substring(0, separator))));
+            }
+            if (url.getProtocol().equals("file")) {
+                File root = new File(url.toURI());
+                for (int depth = resource.split("/").length; depth > 0 && root != null; depth--) {
+                    root = root.getParentFile();
+                }
+                return root != null ? ScanCache.canonicalPath(root) : null;
+            }
+        } catch (URISyntaxException | IllegalArgumentException e) {
+            log.debug("Unable to locate the classpath entry of {}: {}", url, e.toString());
+        }
+        return null;
+    }
+
+    private static void copyMatching(Set<String> source, Set<String> target, String[] packages) {
+        for (String className : source) {
+            for (String packageName : packages) {
+                if (packageName.isEmpty() || className.startsWith(packageName + ".")) {
+                    target.add(className);
+                    break;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,351 @@
+package com.github.oxal.scanner;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.context.AfterContextLoad;
+import com.github.oxal.annotation.context.BeforeContextLoad;
+import io.github.classgraph.AnnotationInfo;
+import io.github.classgraph.ClassGraph;
+import io.github.classgraph.ClassInfo;
+import io.github.classgraph.MethodInfo;
+import io.github.classgraph.ScanResult;
+import lombok.Getter;
+import lombok.extern.slf4j.Slf4j;
+
+import java.io.*;
+import java.lang.annotation.Annotation;
+import java.nio.file.*;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.*;
+import java.util.stream.Stream;
+
+/**
+ * On-disk cache of the classpath scan results, so that restarting an unchanged application does not scan again.
+ * <p>
+ * The cache stores, for each classpath entry, its fingerprint (size and modification time of a jar, or of the files
+ * under the scanned packages of a directory) and the classes it contributes, in the {@link BeanIndex} categories. It
+ * also stores which annotations found on scanned classes are {@code @Bean} stereotypes. On {@link #update}, only the
+ * entries whose fingerprint changed are scanned again. Everything is scanned again when the packages differ, when the
+ * cache is unreadable, or when a changed entry turned an annotation into a stereotype or the other way round.
+ */
+@Slf4j
+public class ScanCache {
+
+    /**
+     * The file holding the cache, as a system property or in {@code application.properties}. The cache is disabled
+     * when it is not set.
+     */
+    public static final String PATH_PROPERTY = "tinybean.scan-cache.path";
+
+    private static final int MAGIC = 0x54424353;
+    private static final int VERSION = 1;
+    /**
+     * The key of the classes found outside any classpath file, which no cache entry matches.
+     */
+    private static final String NO_FILE = "";
+
+    private final Path file;
+    private final String[] packages;
+    private final Map<String, Entry> entries;
+    private final Map<String, Boolean> stereotypes;
+
+    @Getter
+    private int reusedEntryCount;
+    @Getter
+    private int rescannedEntryCount;
+
+    private record Entry(String fingerprint, BeanIndex index) {
+    }
+
+    private ScanCache(Path file, String[] packages, Map<String, Entry> entries, Map<String, Boolean> stereotypes) {
+        this.file = file;
+        this.packages = packages;
+        this.entries = entries;
+        this.stereotypes = stereotypes;
+    }
+
+    /**
+     * Reads the cache file, starting from an empty cache if it does not exist, cannot be read or was written for other
+     * packages.
+     */
+    public static ScanCache load(Path file, String[] packages) {
+        String[] sortedPackages = Arrays.stream(packages).sorted().toArray(String[]::new);
+        if (Files.isRegularFile(file)) {
+            try (DataInputStream input = new DataInputStream(new BufferedInputStream(Files.newInputStream(file)))) {
+                ScanCache cache = read(input, file, sortedPackages);
+                if (cache != null) {
+                    return cache;
+                }
+                log.debug("Scan cache {} was written for other packages, ignoring it", file);
+            } catch (IOException e) {
+                log.warn("Ignoring unreadable scan cache {}: {}", file, e.toString());
+            }
+        }
+        return new ScanCache(file, sortedPackages, new LinkedHashMap<>(), new HashMap<>());
+    }
+
+    /**
+     * The classpath entries ClassGraph scans by default.
+     */
+    public static List<File> currentClasspath() {
+        return new ClassGraph().getClasspathFiles();
+    }
+
+    /**
+     * Brings the cache up to date with the given classpath, scanning only the entries that changed, and writes it
+     * back if anything changed.
+     *
+     * @return the classes found in the scanned packages, in classpath order
+     */
+    public BeanIndex update(List<File> classpath, ClassLoader classLoader) {
+        Map<String, String> fingerprints = new LinkedHashMap<>();
+        for (File entry : classpath) {
+            fingerprints.put(entry.getPath(), fingerprint(entry.toPath()));
+        }
+
+        List<File> changed = classpath.stream()
+                .filter(entry -> !entries.containsKey(entry.getPath())
+                        || !entries.get(entry.getPath()).fingerprint().equals(fingerprints.get(entry.getPath())))
+                .toList();
+        boolean removed = !fingerprints.keySet().containsAll(entries.keySet());
+        if (!changed.isEmpty() && !entries.isEmpty() && stereotypesChanged(classLoader)) {
+            log.debug("A @Bean stereotype changed, scanning the whole classpath again");
+            entries.clear();
+            stereotypes.clear();
+            changed = classpath;
+        }
+
+        Map<String, BeanIndex> scanned = changed.isEmpty() ? Map.of() : scan(changed, classLoader);
+        Map<String, Entry> updated = new LinkedHashMap<>();
+        BeanIndex result = new BeanIndex();
+        for (File entry : classpath) {
+            String path = entry.getPath();
+            Entry cached = entries.get(path);
+            if (cached == null || !cached.fingerprint().equals(fingerprints.get(path))) {
+                cached = new Entry(fingerprints.get(path), scanned.getOrDefault(canonicalPath(entry), new BeanIndex()));
+            }
+            updated.put(path, cached);
+            result.addAll(cached.index());
+        }
+        entries.clear();
+        entries.putAll(updated);
+
+        rescannedEntryCount = changed.size();
+        reusedEntryCount = classpath.size() - changed.size();
+        log.info("Scan cache: {} classpath entries reused, {} scanned", reusedEntryCount, rescannedEntryCount);
+
+        if (!changed.isEmpty() || removed) {
+            write();
+        }
+        return result;
+    }
+
+    /**
+     * Scans the given packages of the given classpath entries into an index, without reading or writing any cache.
+     */
+    public static BeanIndex scan(String[] packages, List<File> classpath, ClassLoader classLoader) {
+        ScanCache scanner = new ScanCache(null, packages, new LinkedHashMap<>(), new HashMap<>());
+        BeanIndex result = new BeanIndex();
+        scanner.scan(classpath, classLoader).values().forEach(result::addAll);
+        return result;
+    }
+
+    private Map<String, BeanIndex> scan(List<File> classpath, ClassLoader classLoader) {
+        Map<String, BeanIndex> scanned = new HashMap<>();
+        long startTime = System.currentTimeMillis();
+        try (ScanResult scanResult = new ClassGraph().enableAllInfo().acceptPackages(packages).overrideClasspath(classpath).scan()) {
+            for (ClassInfo classInfo : scanResult.getAllClasses()) {
+                File element = classInfo.getClasspathElementFile();
+                // Classes of a module or of a non-file entry have no file to fingerprint: they are indexed, never cached.
+                String path = element != null ? canonicalPath(element) : NO_FILE;
+                BeanIndex index = scanned.computeIfAbsent(path, key -> new BeanIndex());
+                if (!classInfo.isAnnotation()
+                        && classInfo.getAnnotationInfo().stream().anyMatch(annotation -> isStereotype(annotation, classLoader))) {
+                    index.add("bean", classInfo.getName());
+                }
+                for (MethodInfo methodInfo : classInfo.getDeclaredMethodInfo()) {
+                    if (methodInfo.hasAnnotation(Bean.class.getName())) {
+                        index.add("method", classInfo.getName());
+                    }
+                    if (methodInfo.hasAnnotation(BeforeContextLoad.class.getName())) {
+                        index.add("before", classInfo.getName());
+                    }
+                    if (methodInfo.hasAnnotation(AfterContextLoad.class.getName())) {
+                        index.add("after", classInfo.getName());
+                    }
+                }
+            }
+        }
+        log.info("Classpath scan of {} entries completed in {}ms", classpath.size(), System.currentTimeMillis() - startTime);
+        return scanned;
+    }
+
+    static String canonicalPath(File file) {
+        try {
+            return file.getCanonicalPath();
+        } catch (IOException e) {
+            return file.getAbsolutePath();
+        }
+    }
+
+    private boolean isStereotype(AnnotationInfo annotation, ClassLoader classLoader) {
+        return stereotypes.computeIfAbsent(annotation.getName(), name -> isStereotype(name, classLoader, new HashSet<>()));
+    }
+
+    /**
+     * Tells whether the annotation is {@code @Bean} or is meta-annotated with it at any depth, as ClassGraph does.
+     */
+    private static boolean isStereotype(String annotationName, ClassLoader classLoader, Set<String> visited) {
+        if (annotationName.equals(Bean.class.getName())) {
+            return true;
+        }
+        if (!visited.add(annotationName)) {
+            return false;
+        }
+        try {
+            Class<?> annotationType = Class.forName(annotationName, false, classLoader);
+            for (Annotation metaAnnotation : annotationType.getAnnotations()) {
+                if (isStereotype(metaAnnotation.annotationType().getName(), classLoader, visited)) {
+                    return true;
+                }
+            }
+        } catch (ClassNotFoundException | LinkageError e) {
+            log.trace("Annotation {} cannot be loaded, it is not a stereotype", annotationName);
+        }
+        return false;
+    }
+
+    private boolean stereotypesChanged(ClassLoader classLoader) {
+        for (Map.Entry<String, Boolean> stereotype : stereotypes.entrySet()) {
+            if (isStereotype(stereotype.getKey(), classLoader, new HashSet<>()) != stereotype.getValue()) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * A jar is identified by its size and modification time. A directory by the relative path, size and modification
+     * time of every file under the scanned packages.
+     */
+    private String fingerprint(Path entry) {
+        try {
+            if (Files.isRegularFile(entry)) {
+                BasicFileAttributes attributes = Files.readAttributes(entry, BasicFileAttributes.class);
+                return "f:" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis();
+            }
+            if (Files.isDirectory(entry)) {
+                List<String> files = new ArrayList<>();
+                for (String packageName : packages) {
+                    Path packageDirectory = entry.resolve(packageName.replace('.', '/'));
+                    if (!Files.isDirectory(packageDirectory)) {
+                        continue;
+                    }
+                    try (Stream<Path> walk = Files.walk(packageDirectory)) {
+                        for (Path path : (Iterable<Path>) walk::iterator) {
+                            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+                            if (attributes.isRegularFile()) {
+                                files.add(entry.relativize(path) + ":" + attributes.size() + ":" + attributes.lastModifiedTime().toMillis());
+                            }
+                        }
+                    }
+                }
+                Collections.sort(files);
+                long hash = 1125899906842597L;
+                for (String fileFingerprint : files) {
+                    for (int i = 0; i < fileFingerprint.length(); i++) {
+                        hash = 31 * hash + fileFingerprint.charAt(i);
+                    }
+                }
+                return "d:" + files.size() + ":" + Long.toHexString(hash);
+            }
+        } catch (IOException | UncheckedIOException e) {
+            log.debug("Unable to fingerprint classpath entry {}: {}", entry, e.toString());
+        }
+        return "missing";
+    }
+
+    private static ScanCache read(DataInputStream input, Path file, String[] packages) throws IOException {
+        if (input.readInt() != MAGIC || input.readInt() != VERSION) {
+            throw new IOException("not a scan cache of version " + VERSION);
+        }
+        if (!input.readUTF().equals(String.join(",", packages))) {
+            return null;
+        }
+
+        Map<String, Entry> entries = new LinkedHashMap<>();
+        int entryCount = input.readInt();
+        for (int i = 0; i < entryCount; i++) {
+            String path = input.readUTF();
+            String fingerprint = input.readUTF();
+            BeanIndex index = new BeanIndex();
+            readClassNames(input, index, "bean");
+            readClassNames(input, index, "method");
+            readClassNames(input, index, "before");
+            readClassNames(input, index, "after");
+            entries.put(path, new Entry(fingerprint, index));
+        }
+
+        Map<String, Boolean> stereotypes = new HashMap<>();
+        int stereotypeCount = input.readInt();
+        for (int i = 0; i < stereotypeCount; i++) {
+            stereotypes.put(input.readUTF(), input.readBoolean());
+        }
+        return new ScanCache(file, packages, entries, stereotypes);
+    }
+
+    private static void readClassNames(DataInputStream input, BeanIndex index, String category) throws IOException {
+        int count = input.readInt();
+        for (int i = 0; i < count; i++) {
+            index.add(category, input.readUTF());
+        }
+    }
+
+    /**
+     * Writes the cache to a temporary file first, then moves it in place, so that a concurrent start never reads a
+     * partial cache.
+     */
+    private void write() {
+        try {
+            Path directory = file.toAbsolutePath().getParent();
+            Files.createDirectories(directory);
+            Path temporary = Files.createTempFile(directory, file.getFileName().toString(), ".tmp");
+            try (DataOutputStream output = new DataOutputStream(new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                output.writeInt(MAGIC);
+                output.writeInt(VERSION);
+                output.writeUTF(String.join(",", packages));
+
+                output.writeInt(entries.size());
+                for (Map.Entry<String, Entry> entry : entries.entrySet()) {
+                    output.writeUTF(entry.getKey());
+                    output.writeUTF(entry.getValue().fingerprint());
+                    BeanIndex index = entry.getValue().index();
+                    writeClassNames(output, index.getBeanClasses());
+                    writeClassNames(output, index.getMethodBeanClasses());
+                    writeClassNames(output, index.getBeforeCallbackClasses());
+                    writeClassNames(output, index.getAfterCallbackClasses());
+                }
+
+                output.writeInt(stereotypes.size());
+                for (Map.Entry<String, Boolean> stereotype : stereotypes.entrySet()) {
+                    output.writeUTF(stereotype.getKey());
+                    output.writeBoolean(stereotype.getValue());
+                }
+            }
+            try {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+            }
+            log.debug("Scan cache written to {}", file);
+        } catch (IOException e) {
+            log.warn("Unable to write scan cache {}: {}", file, e.toString());
+        }
+    }
+
+    private static void writeClassNames(DataOutputStream output, Set<String> classNames) throws IOException {
+        output.writeInt(classNames.size());
+        for (String className : classNames) {
+            output.writeUTF(className);
+        }
+    }
+}
@@ -0,0 +1,212 @@
+package com.github.oxal.scope;
+
+import com.github.oxal.object.KeyDefinition;
+import lombok.extern.slf4j.Slf4j;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+/**
+ * The boundary of a request or task, holding the instances of the {@code REQUEST} beans loaded within it.
+ * <p>
+ * A scope is bound to the running thread for the duration of {@link #run} or {@link #call}. Other threads, pooled or
+ * not, never inherit it: tasks forked while handling a request, such as the subtasks of a {@code StructuredTaskScope},
+ * join it explicitly through {@link #wrap(Runnable)} or {@link #wrap(Callable)}. The thread holds a single reference to
+ * its scope: the instances are kept by the scope itself and dropped with it. When the boundary exits, the instances are
+ * destroyed in reverse creation order, those that are {@link AutoCloseable} being closed, and the scope creates no
+ * instance anymore.
+ *
+ * <pre>{@code
+ * RequestScope.run(() -> {
+ *     executor.submit(RequestScope.current().wrap(() -> audit(request)));
+ *     handler.handle(request);
+ * });
+ * }</pre>
+ */
+@Slf4j
+public final class RequestScope {
+
+    /**
+     * The scope bound to the thread.
+     */
+    private static final ThreadLocal<RequestScope> CURRENT = new ThreadLocal<>();
+
+    private final Map<KeyDefinition, CompletableFuture<Object>> instances = new ConcurrentHashMap<>();
+    /**
+     * The created instances, most recent first, in the order they are destroyed.
+     */
+    private final Deque<Object> destructionOrder = new ArrayDeque<>();
+    private volatile boolean closed;
+
+    private RequestScope() {
+    }
+
+    /**
+     * Runs the task in a new scope, destroying its instances when the task completes.
+     */
+    public static void run(Runnable task) {
+        RequestScope previous = CURRENT.get();
+        RequestScope scope = new RequestScope();
+        CURRENT.set(scope);
+        try {
+            task.run();
+        } finally {
+            restore(previous);
+            scope.close();
+        }
+    }
+
+    /**
+     * Calls the task in a new scope, destroying its instances when the task completes.
+     */
+    public static <T> T call(Callable<T> task) throws Exception {
+        RequestScope previous = CURRENT.get();
+        RequestScope scope = new RequestScope();
+        CURRENT.set(scope);
+        try {
+            return task.call();
+        } finally {
+            restore(previous);
+            scope.close();
+        }
+    }
+
+    /**
+     * Returns a task running the given one within this scope, on whichever thread executes it.
+     */
+    public Runnable wrap(Runnable task) {
+        return () -> {
+            RequestScope previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                task.run();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns a task calling the given one within this scope, on whichever thread executes it.
+     */
+    public <T> Callable<T> wrap(Callable<T> task) {
+        return () -> {
+            RequestScope previous = CURRENT.get();
+            CURRENT.set(this);
+            try {
+                return task.call();
+            } finally {
+                restore(previous);
+            }
+        };
+    }
+
+    /**
+     * Returns the scope bound to the running thread.
+     *
+     * @throws RuntimeException if no scope is active, or it has already exited
+     */
+    public static RequestScope current() {
+        RequestScope scope = CURRENT.get();
+        if (scope == null || scope.closed) {
+            log.error("No request scope is active on thread {}", Thread.currentThread());
+            throw new RuntimeException("No request scope is active: load REQUEST beans inside RequestScope.run or RequestScope.call");
+        }
+        return scope;
+    }
+
+    public static boolean isActive() {
+        RequestScope scope = CURRENT.get();
+        return scope != null && !scope.closed;
+    }
+
+    /**
+     * Returns the instance of the given bean in this scope, creating it with the given factory if needed. Creation
+     * happens once per scope: threads of the scope asking for an instance being created wait for it.
+     *
+     * @throws RuntimeException if the scope has exited
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T getOrCreate(KeyDefinition key, Supplier<T> factory) {
+        if (closed) {
+            throw closedError(key);
+        }
+        CompletableFuture<Object> existing = instances.get(key);
+        if (existing == null) {
+            CompletableFuture<Object> creation = new CompletableFuture<>();
+            existing = instances.putIfAbsent(key, creation);
+            if (existing == null) {
+                return create(key, factory, creation);
+            }
+        }
+        try {
+            return (T) existing.join();
+        } catch (CompletionException e) {
+            if (e.getCause() instanceof RuntimeException cause) {
+                throw cause;
+            }
+            throw e;
+        }
+    }
+
+    private <T> T create(KeyDefinition key, Supplier<T> factory, CompletableFuture<Object> creation) {
+        try {
+            T instance = factory.get();
+            synchronized (destructionOrder) {
+                if (closed) {
+                    // The scope exited during the creation: nothing would destroy the instance later.
+                    destroy(instance);
+                    throw closedError(key);
+                }
+                destructionOrder.push(instance);
+            }
+            creation.complete(instance);
+            return instance;
+        } catch (RuntimeException | Error e) {
+            // A later lookup in this scope tries again.
+            instances.remove(key, creation);
+            creation.completeExceptionally(e);
+            throw e;
+        }
+    }
+
+    private void close() {
+        synchronized (destructionOrder) {
+            closed = true;
+            for (Object instance : destructionOrder) {
+                destroy(instance);
+            }
+            destructionOrder.clear();
+        }
+        instances.clear();
+    }
+
+    private static RuntimeException closedError(KeyDefinition key) {
+        log.error("Request scope has exited, unable to create {}", key);
+        return new RuntimeException("Request scope has exited, unable to create " + key);
+    }
+
+    private static void destroy(Object instance) {
+        if (instance instanceof AutoCloseable closeable) {
+            try {
+                closeable.close();
+            } catch (Exception e) {
+                log.warn("Failed to close request scoped instance {}", instance, e);
+            }
+        }
+    }
+
+    private static void restore(RequestScope previous) {
+        if (previous == null) {
+            CURRENT.remove();
+        } else {
+            CURRENT.set(previous);
+        }
+    }
+}
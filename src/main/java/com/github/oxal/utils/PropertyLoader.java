@@ -35,4 +35,9 @@ public class PropertyLoader {
         }
         return properties.getProperty(key);
     }
+
+    public static String getProperty(String key, String defaultValue) {
+        String value = getProperty(key);
+        return value != null ? value : defaultValue;
+    }
 }
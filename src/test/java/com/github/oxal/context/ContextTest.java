@@ -0,0 +1,105 @@
+package com.github.oxal.context;
+
+import com.github.oxal.object.KeyDefinition;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ContextTest {
+
+    private Context context;
+
+    @BeforeEach
+    void setup() {
+        context = ContextService.createContexte(ContextTest.class, new String[0]);
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestContextHelper.cleanup();
+    }
+
+    @Test
+    void getOrCreateSingleton_shouldCreateOnce_underConcurrentFirstAccess() throws Exception {
+        KeyDefinition key = KeyDefinition.builder().name("slow").type(Object.class).build();
+        AtomicInteger creations = new AtomicInteger();
+        int threads = 64;
+        CountDownLatch start = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(threads)) {
+            List<Future<Object>> results = new ArrayList<>();
+            for (int i = 0; i < threads; i++) {
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return context.getOrCreateSingleton(key, () -> {
+                        creations.incrementAndGet();
+                        sleep(50);
+                        return new Object();
+                    });
+                }));
+            }
+            start.countDown();
+
+            Object expected = results.getFirst().get(5, TimeUnit.SECONDS);
+            for (Future<Object> result : results) {
+                assertSame(expected, result.get(5, TimeUnit.SECONDS));
+            }
+        }
+        assertEquals(1, creations.get(), "The singleton factory should run exactly once.");
+        assertSame(context.getSingleton(key), context.getOrCreateSingleton(key, Object::new));
+    }
+
+    @Test
+    void getOrCreateSingleton_shouldPropagateFailureToWaiters_andAllowRetry() throws Exception {
+        KeyDefinition key = KeyDefinition.builder().name("failing").type(Object.class).build();
+        CountDownLatch creating = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            Future<Object> creator = executor.submit(() -> context.getOrCreateSingleton(key, () -> {
+                creating.countDown();
+                await(release);
+                throw new IllegalStateException("boom");
+            }));
+            creating.await();
+            Future<Object> waiter = executor.submit(() -> context.getOrCreateSingleton(key, Object::new));
+            // Give the waiter a chance to start waiting on the in-flight creation.
+            sleep(50);
+            release.countDown();
+
+            ExecutionException creatorFailure = assertThrows(ExecutionException.class, () -> creator.get(5, TimeUnit.SECONDS));
+            assertInstanceOf(IllegalStateException.class, creatorFailure.getCause());
+            try {
+                assertNotNull(waiter.get(5, TimeUnit.SECONDS), "A waiter arriving after the failure may create the singleton itself.");
+            } catch (ExecutionException waiterFailure) {
+                assertInstanceOf(IllegalStateException.class, waiterFailure.getCause());
+            }
+        }
+
+        assertFalse(context.isSingletonInCreation(key), "A failed creation must not leave a placeholder behind.");
+        assertNotNull(context.getOrCreateSingleton(key, Object::new), "A later lookup should be able to retry the creation.");
+    }
+
+    private static void sleep(long millis) {
+        try {
+            Thread.sleep(millis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    private static void await(CountDownLatch latch) {
+        try {
+            latch.await();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.oxal.initializer;
+
+import com.github.oxal.context.ContextService;
+import com.github.oxal.context.TestContextHelper;
+import com.github.oxal.initializer.SyntheticContextGenerator.Shape;
+import com.github.oxal.runner.ApplicationRunner;
+import lombok.extern.slf4j.Slf4j;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Tag;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.URLClassLoader;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Loads generated contexts of growing size and checks that initialization time and memory grow near-linearly.
+ * <p>
+ * Excluded from the default build as it takes minutes: run it with {@code mvn test -Pscaling}.
+ */
+@Slf4j
+@Tag("scaling")
+class ContextScalingTest {
+
+    private static final Path OUTPUT = Path.of("target", "scaling-contexts");
+    private static final int[] SIZES = {100, 1_000, 10_000, 50_000};
+    private static final int RUNS = 3;
+    /**
+     * How much more time or memory a bean of the largest context may cost than a bean of the 1k one.
+     */
+    private static final double MAX_TIME_GROWTH = 3.0;
+    private static final double MAX_MEMORY_GROWTH = 1.5;
+
+    @AfterEach
+    void tearDown() {
+        TestContextHelper.cleanup();
+    }
+
+    @Test
+    void initialization_shouldScaleNearLinearly() throws IOException {
+        Thread thread = Thread.currentThread();
+        ClassLoader originalClassLoader = thread.getContextClassLoader();
+        List<Measurement> measurements = new ArrayList<>();
+        try {
+            // Loads and compiles the framework code once, so that the smallest context does not pay for it.
+            load(shape(1_000));
+            for (int size : SIZES) {
+                measurements.add(measure(shape(size)));
+            }
+        } finally {
+            thread.setContextClassLoader(originalClassLoader);
+        }
+
+        log.info(String.format("%8s %12s %14s %16s %14s", "beans", "init (ms)", "per bean (us)", "retained (KiB)", "per bean (B)"));
+        measurements.forEach(m -> log.info(String.format("%8d %12.1f %14.2f %16d %14d",
+                m.beans(), m.nanos() / 1e6, m.nanosPerBean() / 1e3, m.bytes() / 1024, m.bytesPerBean())));
+
+        Measurement reference = measurements.get(1);
+        for (Measurement m : measurements.subList(2, measurements.size())) {
+            double timeGrowth = m.nanosPerBean() / reference.nanosPerBean();
+            double memoryGrowth = (double) m.bytesPerBean() / reference.bytesPerBean();
+            assertTrue(timeGrowth < MAX_TIME_GROWTH, "Initialization time per bean grew " + timeGrowth + "x from 1k to " + m.beans() + " beans.");
+            assertTrue(memoryGrowth < MAX_MEMORY_GROWTH, "Memory per bean grew " + memoryGrowth + "x from 1k to " + m.beans() + " beans.");
+        }
+    }
+
+    private static Shape shape(int beans) {
+        return new Shape(beans, 5, 3, 3, 10, true);
+    }
+
+    /**
+     * Loads the context of the given shape several times, each time with newly loaded classes, and keeps the fastest
+     * run. The memory retained by the context is measured on the last run.
+     */
+    private static Measurement measure(Shape shape) throws IOException {
+        long fastest = Long.MAX_VALUE;
+        long retained = 0;
+        for (int run = 0; run < RUNS; run++) {
+            long usedBefore = usedMemory();
+            fastest = Math.min(fastest, load(shape));
+            retained = usedMemory() - usedBefore;
+            TestContextHelper.cleanup();
+        }
+        return new Measurement(shape.beans(), fastest, retained);
+    }
+
+    /**
+     * Loads the context of the given shape and leaves it loaded.
+     *
+     * @return the time taken by the initialization, in nanoseconds
+     */
+    private static long load(Shape shape) throws IOException {
+        TestContextHelper.cleanup();
+        Path classes = SyntheticContextGenerator.generate(shape, OUTPUT);
+        try (URLClassLoader classLoader = SyntheticContextGenerator.open(classes)) {
+            Thread.currentThread().setContextClassLoader(classLoader);
+            Class<?> application = classLoader.loadClass(shape.applicationName());
+
+            long start = System.nanoTime();
+            ApplicationRunner.loadContext(application);
+            long nanos = System.nanoTime() - start;
+
+            long created = ContextService.getContext().getSingletonInstances().keySet().stream()
+                    .filter(key -> key.getType().getPackageName().equals(shape.packageName()))
+                    .count();
+            assertEquals(shape.beans(), created, "Every generated bean should have been created eagerly.");
+            return nanos;
+        } catch (ClassNotFoundException e) {
+            throw new IllegalStateException("The generated application cannot be loaded", e);
+        }
+    }
+
+    private static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        for (int i = 0; i < 3; i++) {
+            System.gc();
+        }
+        return runtime.totalMemory() - runtime.freeMemory();
+    }
+
+    private record Measurement(int beans, long nanos, long bytes) {
+
+        double nanosPerBean() {
+            return (double) nanos / beans;
+        }
+
+        long bytesPerBean() {
+            return bytes / beans;
+        }
+    }
+}
@@ -0,0 +1,203 @@
+package com.github.oxal.initializer;
+
+import com.github.oxal.annotation.Application;
+
+import javax.tools.JavaCompiler;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardJavaFileManager;
+import javax.tools.ToolProvider;
+import java.io.File;
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.net.MalformedURLException;
+import java.net.URI;
+import java.net.URISyntaxException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A test utility generating and compiling synthetic bean graphs, to exercise the container with far more beans than
+ * the fixtures hold.
+ * <p>
+ * The beans are spread over {@code depth} levels. Each bean above the first level injects {@code fanOut} beans of the
+ * level below. Every bean of the first level implements the last interface of a family: a chain of
+ * {@code interfaceDepth} interfaces with {@code listWidth} implementations. The first beans of the second level each
+ * inject the {@code List} of one family, through its root interface. The compiled classes are kept under the output
+ * directory and reused by later runs with the same shape.
+ */
+class SyntheticContextGenerator {
+
+    private static final int BEANS_PER_FILE = 500;
+    private static final String COMPLETE_MARKER = "generation.complete";
+
+    /**
+     * The shape of a generated bean graph.
+     */
+    record Shape(int beans, int depth, int fanOut, int interfaceDepth, int listWidth, boolean eagerInit) {
+
+        String packageName() {
+            return "scaling.g" + beans + "_d" + depth + "_f" + fanOut + "_i" + interfaceDepth + "_w" + listWidth + (eagerInit ? "_eager" : "");
+        }
+
+        String applicationName() {
+            return packageName() + ".SyntheticApplication";
+        }
+    }
+
+    /**
+     * Generates the bean graph of the given shape under the output directory, unless a previous run already did.
+     *
+     * @return the directory holding the compiled classes
+     */
+    static Path generate(Shape shape, Path outputRoot) {
+        Path classes = outputRoot.resolve(shape.packageName());
+        if (Files.exists(classes.resolve(COMPLETE_MARKER))) {
+            return classes;
+        }
+        try {
+            Path sources = Files.createDirectories(outputRoot.resolve(shape.packageName() + "-sources"));
+            Files.createDirectories(classes);
+            List<Path> files = writeSources(shape, sources);
+            compile(files, classes);
+            Files.createFile(classes.resolve(COMPLETE_MARKER));
+            return classes;
+        } catch (IOException e) {
+            throw new UncheckedIOException("Failed to generate the bean graph " + shape, e);
+        }
+    }
+
+    /**
+     * Opens a new class loader over the generated classes, so that each run loads them anew.
+     */
+    static URLClassLoader open(Path classes) {
+        try {
+            return new URLClassLoader(new URL[]{classes.toUri().toURL()}, SyntheticContextGenerator.class.getClassLoader());
+        } catch (MalformedURLException e) {
+            throw new IllegalArgumentException("Invalid class directory " + classes, e);
+        }
+    }
+
+    private static List<Path> writeSources(Shape shape, Path sources) throws IOException {
+        String packageName = shape.packageName();
+        Path packageDir = Files.createDirectories(sources.resolve(packageName.replace('.', File.separatorChar)));
+        List<Path> files = new ArrayList<>();
+
+        files.add(write(packageDir, "SyntheticApplication", """
+                package %s;
+
+                @com.github.oxal.annotation.Application(eagerInit = %s)
+                public class SyntheticApplication {
+                }
+                """.formatted(packageName, shape.eagerInit())));
+
+        int[] levelSizes = levelSizes(shape);
+        int families = shape.interfaceDepth() > 0 ? Math.ceilDiv(levelSizes[0], shape.listWidth()) : 0;
+        if (families > 0) {
+            StringBuilder interfaces = new StringBuilder("package " + packageName + ";\n\npublic class Interfaces {\n");
+            for (int family = 0; family < families; family++) {
+                for (int level = 0; level < shape.interfaceDepth(); level++) {
+                    interfaces.append("    public interface ").append(interfaceName(family, level));
+                    if (level > 0) {
+                        interfaces.append(" extends ").append(interfaceName(family, level - 1));
+                    }
+                    interfaces.append(" {\n    }\n");
+                }
+            }
+            files.add(write(packageDir, "Interfaces", interfaces.append("}\n").toString()));
+        }
+
+        int[] levelOffsets = new int[levelSizes.length];
+        for (int level = 1; level < levelSizes.length; level++) {
+            levelOffsets[level] = levelOffsets[level - 1] + levelSizes[level - 1];
+        }
+        List<String> beans = new ArrayList<>(shape.beans());
+        for (int level = 0; level < levelSizes.length; level++) {
+            for (int index = 0; index < levelSizes[level]; index++) {
+                beans.add(beanSource(shape, levelSizes, levelOffsets, families, level, index));
+            }
+        }
+        for (int file = 0; file * BEANS_PER_FILE < beans.size(); file++) {
+            StringBuilder source = new StringBuilder("package " + packageName + ";\n\npublic class Beans" + file + " {\n");
+            beans.subList(file * BEANS_PER_FILE, Math.min(beans.size(), (file + 1) * BEANS_PER_FILE)).forEach(source::append);
+            files.add(write(packageDir, "Beans" + file, source.append("}\n").toString()));
+        }
+        return files;
+    }
+
+    private static int[] levelSizes(Shape shape) {
+        int depth = Math.max(1, Math.min(shape.depth(), shape.beans()));
+        int[] sizes = new int[depth];
+        for (int level = 0; level < depth; level++) {
+            sizes[level] = shape.beans() / depth;
+        }
+        sizes[0] += shape.beans() % depth;
+        return sizes;
+    }
+
+    private static String beanSource(Shape shape, int[] levelSizes, int[] levelOffsets, int families, int level, int index) {
+        String name = beanName(level, index);
+        StringBuilder source = new StringBuilder("    @com.github.oxal.annotation.Bean\n    public static class ").append(name);
+        if (level == 0 && families > 0) {
+            source.append(" implements Interfaces.").append(interfaceName(index / shape.listWidth(), shape.interfaceDepth() - 1));
+        }
+        source.append(" {\n        public ").append(name).append("(");
+
+        List<String> parameters = new ArrayList<>();
+        if (level > 0) {
+            for (int i = 0; i < shape.fanOut(); i++) {
+                int dependency = (index * shape.fanOut() + i) % levelSizes[level - 1];
+                parameters.add(beanClassName(level - 1, dependency, levelOffsets) + " dependency" + i);
+            }
+            if (level == 1 && index < families) {
+                parameters.add("java.util.List<Interfaces." + interfaceName(index, 0) + "> family");
+            }
+        }
+        return source.append(String.join(", ", parameters)).append(") {\n        }\n    }\n").toString();
+    }
+
+    private static String beanName(int level, int index) {
+        return "Bean" + level + "_" + index;
+    }
+
+    /**
+     * Returns the name of a bean qualified by its enclosing class, given the number of beans on the levels below each
+     * level.
+     */
+    private static String beanClassName(int level, int index, int[] levelOffsets) {
+        return "Beans" + ((levelOffsets[level] + index) / BEANS_PER_FILE) + "." + beanName(level, index);
+    }
+
+    private static String interfaceName(int family, int level) {
+        return "Family" + family + "Level" + level;
+    }
+
+    private static Path write(Path packageDir, String className, String source) throws IOException {
+        return Files.writeString(packageDir.resolve(className + ".java"), source);
+    }
+
+    private static void compile(List<Path> files, Path classes) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        String classpath = Path.of(codeSource(Application.class)).toString();
+        StringWriter output = new StringWriter();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(null, null, null)) {
+            Iterable<? extends JavaFileObject> units = fileManager.getJavaFileObjectsFromPaths(files);
+            List<String> options = List.of("-d", classes.toString(), "-classpath", classpath, "-proc:none", "-g:none");
+            if (!compiler.getTask(output, fileManager, null, options, null, units).call()) {
+                throw new IllegalStateException("Failed to compile the generated beans:\n" + output);
+            }
+        }
+    }
+
+    private static URI codeSource(Class<?> type) {
+        try {
+            return type.getProtectionDomain().getCodeSource().getLocation().toURI();
+        } catch (URISyntaxException e) {
+            throw new IllegalStateException("Cannot locate the classes of " + type.getName(), e);
+        }
+    }
+}
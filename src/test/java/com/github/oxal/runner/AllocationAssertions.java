@@ -0,0 +1,43 @@
+package com.github.oxal.runner;
+
+import java.lang.management.ManagementFactory;
+import java.util.function.Supplier;
+
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * A test utility measuring the bytes allocated by the current thread, to guard allocation-free code paths.
+ */
+class AllocationAssertions {
+
+    private static final int WARMUP_CALLS = 100_000;
+    private static final int MEASURED_CALLS = 1_000_000;
+    /**
+     * The bytes the measured loop may allocate in total, whatever the number of calls, for the allocations of the
+     * measurement itself.
+     */
+    private static final long TOLERATED_BYTES = 1024;
+
+    /**
+     * Fails if the given call allocates in steady state, that is if a million calls allocate more than
+     * {@value #TOLERATED_BYTES} bytes in total, after a warm-up. The JIT compiler must be enabled for escape analysis to
+     * apply.
+     */
+    static void assertNoAllocation(String description, Supplier<?> call) {
+        com.sun.management.ThreadMXBean threads = (com.sun.management.ThreadMXBean) ManagementFactory.getThreadMXBean();
+        for (int i = 0; i < WARMUP_CALLS; i++) {
+            assertNotNull(call.get());
+        }
+
+        Object last = null;
+        long before = threads.getCurrentThreadAllocatedBytes();
+        for (int i = 0; i < MEASURED_CALLS; i++) {
+            last = call.get();
+        }
+        long allocated = threads.getCurrentThreadAllocatedBytes() - before;
+
+        assertNotNull(last);
+        assertTrue(allocated <= TOLERATED_BYTES, description + " should not allocate, but " + MEASURED_CALLS + " calls allocated " + allocated + " bytes.");
+    }
+}
@@ -0,0 +1,136 @@
+package com.github.oxal.runner;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.context.TestContextHelper;
+import fr.test.context.circular.BeanA;
+import fr.test.context.circular.BeanB;
+import fr.test.context.concurrent.ConcurrencyTestFixtures;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.*;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class ApplicationRunnerConcurrencyTest {
+
+    private static final int PLATFORM_THREADS = 200;
+    private static final int VIRTUAL_THREADS = 2_000;
+
+    @BeforeEach
+    void setup() {
+        ConcurrencyTestFixtures.reset();
+    }
+
+    @AfterEach
+    void tearDown() {
+        TestContextHelper.cleanup();
+    }
+
+    @Test
+    void loadBean_fromManyPlatformThreads_shouldCreateEachSingletonOnce() throws Exception {
+        ApplicationRunner.loadContext(ConcurrentApplication.class);
+        try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+            assertSingletonsCreatedOnce(executor, PLATFORM_THREADS);
+        }
+    }
+
+    @Test
+    void loadBean_fromManyVirtualThreads_shouldCreateEachSingletonOnce() throws Exception {
+        ApplicationRunner.loadContext(ConcurrentApplication.class);
+        try (ExecutorService executor = Executors.newVirtualThreadPerTaskExecutor()) {
+            assertSingletonsCreatedOnce(executor, VIRTUAL_THREADS);
+        }
+    }
+
+    @Test
+    void loadBean_ofPrototypes_fromManyVirtualThreads_shouldShareTheirSingletonDependency() throws Exception {
+        ApplicationRunner.loadContext(ConcurrentApplication.class);
+        List<ConcurrencyTestFixtures.PrototypeConsumer> consumers = runConcurrently(Executors.newVirtualThreadPerTaskExecutor(), VIRTUAL_THREADS,
+                () -> ApplicationRunner.loadBean(ConcurrencyTestFixtures.PrototypeConsumer.class));
+
+        assertEquals(VIRTUAL_THREADS, consumers.stream().distinct().count(), "Every lookup of a prototype should create a new instance.");
+        assertEquals(1, consumers.stream().map(ConcurrencyTestFixtures.PrototypeConsumer::getSlow).distinct().count());
+        assertEquals(1, ConcurrencyTestFixtures.slowCreations.get());
+    }
+
+    @Test
+    void loadBean_withCircularDependency_shouldReportFullPath() {
+        ApplicationRunner.loadContext(CircularApplication.class);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ApplicationRunner.loadBean(BeanA.class));
+        assertEquals("Circular dependency detected: BeanA -> BeanB -> BeanA", rootCause(exception).getMessage());
+    }
+
+    @Test
+    void loadBean_withCircularDependency_fromManyThreads_shouldFailWithoutDeadlock() throws Exception {
+        ApplicationRunner.loadContext(CircularApplication.class);
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<?>> results = new ArrayList<>();
+
+        try (ExecutorService executor = Executors.newFixedThreadPool(PLATFORM_THREADS)) {
+            for (int i = 0; i < PLATFORM_THREADS; i++) {
+                Class<?> requested = i % 2 == 0 ? BeanA.class : BeanB.class;
+                results.add(executor.submit(() -> {
+                    start.await();
+                    return ApplicationRunner.loadBean(requested);
+                }));
+            }
+            start.countDown();
+
+            for (Future<?> result : results) {
+                ExecutionException failure = assertThrows(ExecutionException.class, () -> result.get(10, TimeUnit.SECONDS));
+                assertTrue(rootCause(failure).getMessage().startsWith("Circular dependency detected"),
+                        "Unexpected failure: " + rootCause(failure));
+            }
+        }
+    }
+
+    private static void assertSingletonsCreatedOnce(ExecutorService executor, int tasks) throws Exception {
+        List<ConcurrencyTestFixtures.DependentSingleton> beans = runConcurrently(executor, tasks,
+                () -> ApplicationRunner.loadBean(ConcurrencyTestFixtures.DependentSingleton.class));
+
+        assertEquals(1, beans.stream().distinct().count(), "All threads should receive the same singleton.");
+        assertSame(ApplicationRunner.loadBean(ConcurrencyTestFixtures.SlowSingleton.class), beans.getFirst().getSlow());
+        assertEquals(1, ConcurrencyTestFixtures.slowCreations.get());
+        assertEquals(1, ConcurrencyTestFixtures.dependentCreations.get());
+    }
+
+    private static <T> List<T> runConcurrently(ExecutorService executor, int tasks, Callable<T> task) throws Exception {
+        CountDownLatch start = new CountDownLatch(1);
+        List<Future<T>> futures = new ArrayList<>();
+        try (executor) {
+            for (int i = 0; i < tasks; i++) {
+                futures.add(executor.submit(() -> {
+                    start.await();
+                    return task.call();
+                }));
+            }
+            start.countDown();
+
+            List<T> results = new ArrayList<>();
+            for (Future<T> future : futures) {
+                results.add(future.get(30, TimeUnit.SECONDS));
+            }
+            return results;
+        }
+    }
+
+    private static Throwable rootCause(Throwable throwable) {
+        Throwable cause = throwable;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        return cause;
+    }
+
+    @Application(packages = "fr.test.context.concurrent")
+    private static class ConcurrentApplication {
+    }
+
+    @Application(packages = "fr.test.context.circular")
+    private static class CircularApplication {
+    }
+}
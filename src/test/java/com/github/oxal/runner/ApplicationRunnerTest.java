@@ -1,19 +1,43 @@
 package com.github.oxal.runner;
 
 import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.BeanMap;
 import com.github.oxal.context.Context;
 import com.github.oxal.context.ContextService;
+import com.github.oxal.context.ReclaimMetrics;
+import com.github.oxal.context.ResolutionCache;
 import com.github.oxal.context.TestContextHelper;
+import com.github.oxal.factory.InjectionPlan;
+import com.github.oxal.factory.InjectionPlanCompiler;
+import com.github.oxal.object.BeanDefinition;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.pool.BeanPool;
+import com.github.oxal.pool.PoolMetrics;
+import com.github.oxal.pool.Pooled;
+import com.github.oxal.scope.RequestScope;
 import fr.test.context.base.Bean1;
 import fr.test.context.base.Bean2;
 import fr.test.context.callbacks.CallbackTestFixtures;
 import fr.test.context.circular.BeanA;
 import fr.test.context.configuration.ConfigurationTestFixtures;
 import fr.test.context.external.ExternalBean;
+import fr.test.context.hierarchy.HierarchyTestFixtures;
+import fr.test.context.host.HostTestFixtures;
+import fr.test.context.eager.EagerTestFixtures;
+import fr.test.context.instantiation.InstantiationTestFixtures;
+import fr.test.context.lazy.LazyTestFixtures;
 import fr.test.context.list.ListInjectionTestFixtures;
 import fr.test.context.manual.ManualBeanTestFixtures;
+import fr.test.context.map.MapInjectionTestFixtures;
 import fr.test.context.missing.BeanWithMissingDependency;
+import fr.test.context.order.OrderTestFixtures;
+import fr.test.context.pool.PoolTestFixtures;
 import fr.test.context.primary.common.PrimaryTestFixtures;
+import fr.test.context.providerinjection.ProviderInjectionTestFixtures;
+import fr.test.context.reclaimable.ReclaimableTestFixtures;
+import fr.test.context.refresh.RefreshTestFixtures;
+import fr.test.context.request.RequestTestFixtures;
 import fr.test.context.primary.success.SuccessFixtures;
 import fr.test.context.scope.PrototypeBean;
 import fr.test.context.set.SetInjectionTestFixtures;
@@ -22,7 +46,12 @@ import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -63,6 +92,19 @@ class ApplicationRunnerTest {
         assertNotSame(p1, p2, "Stereotype with prototype scope should produce new instances.");
     }
 
+    @Test
+    void stereotype_shouldBeRecordedInBeanDefinition() {
+        ApplicationRunner.loadContext(StereotypeApplication.class);
+        Context context = ContextService.getContext();
+        BeanDefinition named = context.getBeanDefinition(KeyDefinition.builder().type(StereotypeTestFixtures.StereotypeNamedBean.class).name("theStereotypeBean").build());
+        BeanDefinition prototype = context.getBeanDefinition(KeyDefinition.builder().type(StereotypeTestFixtures.StereotypePrototypeBean.class).name("StereotypePrototypeBean").build());
+
+        assertEquals(StereotypeTestFixtures.TestService.class, named.stereotype());
+        assertEquals(ScopeType.SINGLETON, named.scope());
+        assertEquals(ScopeType.PROTOTYPE, prototype.scope());
+        assertFalse(prototype.primary());
+    }
+
     @Test
     void stereotype_beansShouldBeInjectable() {
         ApplicationRunner.loadContext(StereotypeApplication.class);
@@ -93,7 +135,7 @@ class ApplicationRunnerTest {
     @Test
     void loadContext_shouldCountBeanDefinitions() {
         ApplicationRunner.loadContext(ApplicationMain.class);
-        assertEquals(7, ContextService.getContext().getBeanDefinitionCount());
+        assertEquals(6, ContextService.getContext().getBeanDefinitionCount());
     }
 
     // --- Stereotype Tests ---
@@ -130,6 +172,483 @@ class ApplicationRunnerTest {
         assertEquals(1, ContextService.getContext().getSingletonInstanceCount());
     }
 
+    @Test
+    void loadBean_shouldServeRepeatedLookupsFromResolutionCache() {
+        ApplicationRunner.loadContext(ApplicationMain.class);
+        Bean2 first = ApplicationRunner.loadBean(Bean2.class);
+        ResolutionCache cache = ContextService.getContext().getResolutionCache();
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+
+        for (int i = 0; i < 10; i++) {
+            assertSame(first, ApplicationRunner.loadBean(Bean2.class));
+        }
+
+        assertEquals(misses, cache.getMissCount(), "Creating the singleton should not invalidate its resolution.");
+        assertEquals(hits + 10, cache.getHitCount());
+    }
+
+    @Test
+    void loadContext_shouldFreezeContext_andThawOnNewDefinition() {
+        ApplicationRunner.loadContext(ManualRegistrationApplication.class);
+        Context context = ContextService.getContext();
+        assertTrue(context.isFrozen());
+        assertTrue(context.getBeanRegistry().isFrozen());
+
+        context.addBeanDefinitionByConstructor(ManualBeanTestFixtures.ManualConstructorBean.class, ManualBeanTestFixtures.ManualConstructorBean.class);
+
+        assertFalse(context.isFrozen());
+        assertFalse(context.getBeanRegistry().isFrozen());
+        assertNotNull(ApplicationRunner.loadBean(ManualBeanTestFixtures.ManualConstructorBean.class));
+        context.freeze();
+        assertSame(ApplicationRunner.loadBean(ManualBeanTestFixtures.ManualConstructorBean.class),
+                ApplicationRunner.loadBean(ManualBeanTestFixtures.ManualConstructorBean.class));
+    }
+
+    @Test
+    void freeze_shouldKeepSingletonsCreatedAfterIt_acrossThawAndFreeze() {
+        ApplicationRunner.loadContext(ApplicationMain.class);
+        Context context = ContextService.getContext();
+        Bean2 created = ApplicationRunner.loadBean(Bean2.class);
+        int definitions = context.getBeanDefinitionCount();
+
+        context.addBeanDefinitionByConstructor(ManualBeanTestFixtures.ManualConstructorBean.class, ManualBeanTestFixtures.ManualConstructorBean.class);
+        assertSame(created, ApplicationRunner.loadBean(Bean2.class));
+        context.freeze();
+
+        assertSame(created, ApplicationRunner.loadBean(Bean2.class));
+        assertTrue(context.getSingletonInstances().containsValue(created));
+        assertEquals(definitions + 1, context.getBeanDefinitionCount());
+        assertEquals(definitions + 1, context.getBeanDefinitions().size());
+    }
+
+    @Test
+    void loadBean_shouldNotAllocate_forExistingSingletons() {
+        ApplicationRunner.loadContext(ApplicationMain.class);
+        ApplicationRunner.loadBean(Bean2.class);
+        ApplicationRunner.loadBean(String.class, "test");
+        KeyDefinition key = KeyDefinition.builder().type(Bean2.class).name("Bean2").build();
+
+        AllocationAssertions.assertNoAllocation("loadBean(Class)", () -> ApplicationRunner.loadBean(Bean2.class));
+        AllocationAssertions.assertNoAllocation("loadBean(Class, String)", () -> ApplicationRunner.loadBean(String.class, "test"));
+        AllocationAssertions.assertNoAllocation("loadBean(KeyDefinition)", () -> ApplicationRunner.loadBean(key));
+    }
+
+    @Test
+    void beanRef_shouldReturnSingletonWithoutAllocating() {
+        ApplicationRunner.loadContext(ApplicationMain.class);
+        BeanRef<Bean2> ref = BeanRef.of(Bean2.class);
+        assertSame(ApplicationRunner.loadBean(Bean2.class), ref.get());
+
+        AllocationAssertions.assertNoAllocation("BeanRef.get()", ref::get);
+    }
+
+    @Test
+    void beanRef_shouldCreateNewInstance_forPrototypeScope() {
+        ApplicationRunner.loadContext(ScopeApplication.class);
+        BeanRef<PrototypeBean> ref = BeanRef.of(PrototypeBean.class);
+        assertNotSame(ref.get(), ref.get());
+    }
+
+    @Test
+    void loadBean_shouldCompileInjectionPlanOnce_forPrototypeScope() {
+        ApplicationRunner.loadContext(StereotypeApplication.class);
+        ApplicationRunner.loadBean(StereotypeTestFixtures.StereotypePrototypeBean.class);
+        Map<KeyDefinition, InjectionPlan> plans = ContextService.getContext().getInjectionPlans();
+        InjectionPlan plan = plans.values().stream()
+                .filter(p -> p.getExecutable().getDeclaringClass() == StereotypeTestFixtures.StereotypePrototypeBean.class)
+                .findFirst()
+                .orElseThrow();
+
+        ApplicationRunner.loadBean(StereotypeTestFixtures.StereotypePrototypeBean.class);
+
+        assertEquals(ScopeType.PROTOTYPE, plan.getScope());
+        assertEquals(1, plans.size());
+        assertSame(plan, plans.values().iterator().next(), "The plan should be reused for every new prototype instance.");
+    }
+
+    @Test
+    void loadBean_shouldInstantiatePrototypesThroughConstructorsAndFactoryMethods() {
+        ApplicationRunner.loadContext(InstantiationApplication.class);
+
+        InstantiationTestFixtures.PrototypeWithDependency first = ApplicationRunner.loadBean(InstantiationTestFixtures.PrototypeWithDependency.class);
+        InstantiationTestFixtures.PrototypeWithDependency second = ApplicationRunner.loadBean(InstantiationTestFixtures.PrototypeWithDependency.class);
+        assertNotSame(first, second);
+        assertNotSame(first.getDependency(), second.getDependency());
+
+        assertEquals("static", ApplicationRunner.loadBean(InstantiationTestFixtures.Widget.class, "staticWidget").getLabel());
+        assertEquals("instance", ApplicationRunner.loadBean(InstantiationTestFixtures.Widget.class, "instanceWidget").getLabel());
+    }
+
+    @Test
+    void loadBean_shouldWrapExceptionThrownByConstructor() {
+        ApplicationRunner.loadContext(InstantiationApplication.class);
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ApplicationRunner.loadBean(InstantiationTestFixtures.FailingPrototype.class));
+        Throwable cause = exception;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertInstanceOf(IllegalStateException.class, cause);
+        assertEquals("boom", cause.getMessage());
+    }
+
+    @Test
+    void loadBean_shouldRethrowErrorThrownByConstructorUnchanged() {
+        ApplicationRunner.loadContext(InstantiationApplication.class);
+        LinkageError error = assertThrows(LinkageError.class, () -> ApplicationRunner.loadBean(InstantiationTestFixtures.BrokenPrototype.class));
+        assertEquals("broken", error.getMessage());
+    }
+
+    @Test
+    void loadContext_shouldCreateSingletonsEagerlyAndInParallel() {
+        EagerTestFixtures.reset();
+        ApplicationRunner.loadContext(EagerApplication.class);
+
+        Context context = ContextService.getContext();
+        assertTrue(context.getSingletonInstances().keySet().stream().anyMatch(key -> key.getType() == EagerTestFixtures.Service.class),
+                "Singletons should exist before any loadBean call.");
+        assertTrue(EagerTestFixtures.firstWarmerStart < EagerTestFixtures.secondWarmerEnd
+                        && EagerTestFixtures.secondWarmerStart < EagerTestFixtures.firstWarmerEnd,
+                "Independent singletons should be created concurrently.");
+
+        List<String> order = EagerTestFixtures.creationOrder;
+        assertTrue(order.indexOf("Service") > order.indexOf("FirstWarmer"));
+        assertTrue(order.indexOf("Service") > order.indexOf("SecondWarmer"));
+        assertTrue(order.indexOf("Repository") > order.indexOf("Migration"));
+        assertEquals(6, order.size(), "Each singleton should be created exactly once.");
+    }
+
+    @Test
+    void loadBean_shouldInvokeFactoryMethodsOnSharedHost() {
+        HostTestFixtures.reset();
+        ApplicationRunner.loadContext(HostApplication.class);
+
+        HostTestFixtures.Message first = ApplicationRunner.loadBean(HostTestFixtures.Message.class, "sharedMessage");
+        HostTestFixtures.Message second = ApplicationRunner.loadBean(HostTestFixtures.Message.class, "sharedMessage");
+        assertEquals(5, ApplicationRunner.loadBean(Integer.class, "sharedLength"));
+
+        assertNotSame(first, second);
+        assertSame(first.host(), second.host(), "Every @Bean method should be invoked on the same host.");
+        assertEquals("hello", first.text(), "The host should have its dependencies injected.");
+        assertEquals(1, HostTestFixtures.sharedHosts.get());
+    }
+
+    @Test
+    void loadBean_shouldCreateHostPerBean_forPrototypeHost() {
+        HostTestFixtures.reset();
+        ApplicationRunner.loadContext(HostApplication.class);
+
+        HostTestFixtures.Message first = ApplicationRunner.loadBean(HostTestFixtures.Message.class, "prototypeMessage");
+        HostTestFixtures.Message second = ApplicationRunner.loadBean(HostTestFixtures.Message.class, "prototypeMessage");
+
+        assertNotSame(first.host(), second.host());
+        assertEquals(2, HostTestFixtures.prototypeHosts.get());
+    }
+
+    @Test
+    void borrowBean_shouldReuseReturnedInstances_fromWarmedPool() {
+        PoolTestFixtures.reset();
+        ApplicationRunner.loadContext(PoolApplication.class);
+        assertEquals(1, PoolTestFixtures.parsersCreated.get(), "The pool should be warmed to its minimum size at startup.");
+
+        PoolTestFixtures.Parser first;
+        try (Pooled<PoolTestFixtures.Parser> parser = ApplicationRunner.borrowBean(PoolTestFixtures.Parser.class)) {
+            first = parser.get();
+        }
+        Pooled<PoolTestFixtures.Parser> again = ApplicationRunner.borrowBean(PoolTestFixtures.Parser.class);
+        Pooled<PoolTestFixtures.Parser> other = ApplicationRunner.borrowBean(PoolTestFixtures.Parser.class);
+        assertSame(first, again.get());
+        assertNotSame(first, other.get());
+        again.close();
+        other.close();
+
+        PoolMetrics metrics = ApplicationRunner.getPool(PoolTestFixtures.Parser.class, null).metrics();
+        assertEquals(2, metrics.hits());
+        assertEquals(1, metrics.misses());
+        assertEquals(2, metrics.size());
+        assertEquals(2, metrics.idle());
+        assertThrows(IllegalStateException.class, again::get, "A returned instance should no longer be usable.");
+        assertThrows(RuntimeException.class, () -> ApplicationRunner.loadBean(PoolTestFixtures.Parser.class));
+    }
+
+    @Test
+    void borrowBean_shouldIgnoreStaleHandle_onceInstanceIsBorrowedAgain() {
+        PoolTestFixtures.reset();
+        ApplicationRunner.loadContext(PoolApplication.class);
+        BeanPool<PoolTestFixtures.Parser> pool = ApplicationRunner.getPool(PoolTestFixtures.Parser.class, null);
+
+        Pooled<PoolTestFixtures.Parser> stale = pool.borrow();
+        PoolTestFixtures.Parser parser = stale.get();
+        stale.close();
+        Pooled<PoolTestFixtures.Parser> current = pool.borrow();
+        assertSame(parser, current.get());
+
+        assertThrows(IllegalStateException.class, stale::get);
+        stale.close();
+        assertEquals(0, pool.metrics().idle(), "A stale handle should not return an instance borrowed by someone else.");
+        assertNotSame(parser, pool.borrow().get());
+        assertSame(parser, current.get());
+        current.close();
+    }
+
+    @Test
+    void borrowBean_shouldWaitForReturn_whenPoolIsExhausted() throws InterruptedException {
+        PoolTestFixtures.reset();
+        ApplicationRunner.loadContext(PoolApplication.class);
+        BeanPool<PoolTestFixtures.Parser> pool = ApplicationRunner.loadBean(PoolTestFixtures.ParserClient.class).getParsers();
+
+        Pooled<PoolTestFixtures.Parser> first = pool.borrow();
+        Pooled<PoolTestFixtures.Parser> second = pool.borrow();
+        Thread waiter = Thread.ofVirtual().start(() -> pool.borrow().close());
+        waiter.join(200);
+        assertTrue(waiter.isAlive(), "Borrowing from an exhausted pool should wait for a return.");
+        assertEquals(Thread.State.WAITING, waiter.getState(), "The waiter should park until a return, not poll.");
+
+        first.close();
+        waiter.join(5_000);
+        second.close();
+
+        assertFalse(waiter.isAlive());
+        assertEquals(1, pool.metrics().waits());
+        assertEquals(2, pool.metrics().hits(), "A borrow served after a wait should count as a hit.");
+        assertEquals(2, PoolTestFixtures.parsersCreated.get(), "The pool should never exceed its maximum size.");
+    }
+
+    @Test
+    void loadBean_shouldRejectPooledBean_asPlainDependency() {
+        PoolTestFixtures.reset();
+        ApplicationRunner.loadContext(PoolApplication.class);
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ApplicationRunner.loadBean(PoolTestFixtures.ParserMisuser.class));
+
+        assertTrue(exception.getMessage().contains("BeanPool<Parser>"), exception.getMessage());
+    }
+
+    @Test
+    void loadBeans_shouldLeaveOutPooledBeans() {
+        PoolTestFixtures.reset();
+        ApplicationRunner.loadContext(PoolApplication.class);
+
+        PoolTestFixtures.CodecRegistry registry = ApplicationRunner.loadBean(PoolTestFixtures.CodecRegistry.class);
+
+        PoolTestFixtures.Codec json = ApplicationRunner.loadBean(PoolTestFixtures.JsonCodec.class);
+        assertEquals(List.of(json), registry.getCodecs());
+        assertEquals(Map.of("JsonCodec", json), registry.getCodecsByName());
+        assertEquals(Set.of(json), ApplicationRunner.loadBeanSet(PoolTestFixtures.Codec.class));
+    }
+
+    @Test
+    void loadBean_shouldShareInstanceWithinRequestScope_andCloseItOnExit() throws Exception {
+        RequestTestFixtures.reset();
+        ApplicationRunner.loadContext(RequestApplication.class);
+        RequestTestFixtures.Dispatcher dispatcher = ApplicationRunner.loadBean(RequestTestFixtures.Dispatcher.class);
+
+        AtomicReference<RequestScope> exited = new AtomicReference<>();
+        RequestTestFixtures.RequestContext first = RequestScope.call(() -> {
+            RequestTestFixtures.RequestContext requestContext = ApplicationRunner.loadBean(RequestTestFixtures.RequestContext.class);
+            assertSame(requestContext, ApplicationRunner.loadBean(RequestTestFixtures.RequestHandler.class).getRequestContext());
+            assertSame(requestContext, dispatcher.currentContext());
+
+            AtomicReference<Object> forked = new AtomicReference<>();
+            Thread.ofVirtual().start(() -> forked.set(RequestScope.isActive())).join();
+            assertEquals(false, forked.get(), "Threads started within the scope should not inherit it.");
+            Thread.ofVirtual().start(RequestScope.current().wrap(() -> forked.set(ApplicationRunner.loadBean(RequestTestFixtures.RequestContext.class)))).join();
+            assertSame(requestContext, forked.get(), "Wrapped tasks should join the scope.");
+            exited.set(RequestScope.current());
+            return requestContext;
+        });
+        RequestTestFixtures.RequestContext second = RequestScope.call(dispatcher::currentContext);
+
+        assertNotSame(first, second);
+        assertEquals(2, RequestTestFixtures.contextsClosed.get(), "Each scope should close its instances on exit.");
+        assertFalse(RequestScope.isActive());
+        assertThrows(RuntimeException.class, () -> ApplicationRunner.loadBean(RequestTestFixtures.RequestContext.class));
+        assertThrows(RuntimeException.class, () -> exited.get().wrap(() -> ApplicationRunner.loadBean(RequestTestFixtures.RequestHandler.class)).call(),
+                "An exited scope should create no instance.");
+        assertThrows(RuntimeException.class, () -> exited.get().getOrCreate(KeyDefinition.builder().type(Object.class).build(), Object::new));
+        assertEquals(2, RequestTestFixtures.contextsClosed.get());
+    }
+
+    @Test
+    void loadBean_shouldRebuildReclaimableBean_onceCollected() throws InterruptedException {
+        ReclaimableTestFixtures.reset();
+        ApplicationRunner.loadContext(ReclaimableApplication.class);
+
+        ReclaimableTestFixtures.LookupTable table = ApplicationRunner.loadBean(ReclaimableTestFixtures.LookupTable.class);
+        assertSame(table, ApplicationRunner.loadBean(ReclaimableTestFixtures.LookupTable.class));
+        table = null;
+
+        for (int i = 0; i < 50 && ApplicationRunner.getReclaimMetrics(ReclaimableTestFixtures.LookupTable.class, null).evictions() == 0; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        assertEquals(1, ApplicationRunner.getReclaimMetrics(ReclaimableTestFixtures.LookupTable.class, null).evictions(),
+                "The weakly held instance should be reclaimed by the garbage collector.");
+
+        assertEquals(1 << 16, ApplicationRunner.loadBean(ReclaimableTestFixtures.LookupTable.class).size());
+        assertEquals(2, ReclaimableTestFixtures.tablesBuilt.get());
+        assertEquals(new ReclaimMetrics(1, 1), ApplicationRunner.getReclaimMetrics(ReclaimableTestFixtures.LookupTable.class, null));
+    }
+
+    @Test
+    void loadBean_shouldSwapInRefreshedInstance_andCloseReplacedOne() throws InterruptedException {
+        RefreshTestFixtures.reset();
+        ApplicationRunner.loadContext(RefreshApplication.class);
+        RefreshTestFixtures.Credentials first = ApplicationRunner.loadBean(RefreshTestFixtures.Credentials.class);
+        assertSame(first, ApplicationRunner.loadBean(RefreshTestFixtures.Credentials.class));
+
+        long deadline = System.nanoTime() + 5_000_000_000L;
+        while ((ApplicationRunner.loadBean(RefreshTestFixtures.Credentials.class) == first
+                || RefreshTestFixtures.credentialsClosed.get() == 0) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(ApplicationRunner.loadBean(RefreshTestFixtures.Credentials.class).getGeneration() > first.getGeneration(),
+                "The instance should be replaced once its time to live has elapsed.");
+        assertTrue(RefreshTestFixtures.credentialsClosed.get() >= 1, "The replaced instance should be closed.");
+    }
+
+    @Test
+    void loadBeans_shouldReuseOrderedSnapshot_whenAllBeansAreSingletons() {
+        ApplicationRunner.loadContext(OrderApplication.class);
+
+        List<OrderTestFixtures.Handler> handlers = ApplicationRunner.loadBeans(OrderTestFixtures.Handler.class);
+
+        assertEquals(List.of(OrderTestFixtures.FirstHandler.class, OrderTestFixtures.SecondHandler.class, OrderTestFixtures.UnorderedHandler.class),
+                handlers.stream().map(Object::getClass).toList());
+        assertSame(handlers, ApplicationRunner.loadBeans(OrderTestFixtures.Handler.class));
+        assertEquals(handlers, List.copyOf(ApplicationRunner.loadBeanSet(OrderTestFixtures.Handler.class)), "The set should iterate in @Order.");
+        assertThrows(UnsupportedOperationException.class, () -> handlers.add(null));
+    }
+
+    @Test
+    void loadBeans_shouldCreatePrototypeElementsEachTime() {
+        ApplicationRunner.loadContext(OrderApplication.class);
+
+        List<OrderTestFixtures.Step> first = ApplicationRunner.loadBeans(OrderTestFixtures.Step.class);
+        List<OrderTestFixtures.Step> second = ApplicationRunner.loadBeans(OrderTestFixtures.Step.class);
+
+        assertInstanceOf(OrderTestFixtures.PrototypeStep.class, first.getFirst());
+        assertNotSame(first.getFirst(), second.getFirst());
+        assertSame(first.get(1), second.get(1));
+    }
+
+    @Test
+    void loadBean_shouldInjectBeansByName_intoMapParameter() {
+        ApplicationRunner.loadContext(MapInjectionApplication.class);
+
+        Map<String, MapInjectionTestFixtures.PaymentHandler> handlers = ApplicationRunner.loadBean(MapInjectionTestFixtures.PaymentRouter.class).getHandlers();
+
+        assertEquals(List.of("wallet", "card", "transfer"), List.copyOf(handlers.keySet()));
+        assertSame(ApplicationRunner.loadBean(MapInjectionTestFixtures.PaymentHandler.class, "card"), handlers.get("card"));
+        assertInstanceOf(MapInjectionTestFixtures.TransferHandler.class, handlers.get("transfer"));
+        assertSame(handlers.get("transfer"), handlers.get("transfer"), "Prototype entries should be created once per map.");
+        assertSame(handlers.get("transfer"), List.copyOf(handlers.values()).get(2));
+        assertEquals(handlers.hashCode(), handlers.hashCode());
+        assertNull(handlers.get("unknown"));
+
+        Map<String, MapInjectionTestFixtures.PaymentHandler> other = ApplicationRunner.loadBeanMap(MapInjectionTestFixtures.PaymentHandler.class);
+        assertNotSame(handlers.get("transfer"), other.get("transfer"), "Each map should create its own prototypes.");
+        assertSame(handlers.get("card"), other.get("card"));
+        Supplier<MapInjectionTestFixtures.PaymentHandler> transfers = ((BeanMap<MapInjectionTestFixtures.PaymentHandler>) other).supplier("transfer");
+        assertNotSame(transfers.get(), transfers.get());
+        assertThrows(UnsupportedOperationException.class, () -> handlers.put("other", null));
+    }
+
+    @Test
+    void loadBean_shouldCreateDependsOnBeansFirst() {
+        EagerTestFixtures.reset();
+        ApplicationRunner.loadContext(LazyEagerFixturesApplication.class);
+
+        ApplicationRunner.loadBean(EagerTestFixtures.Repository.class);
+
+        assertEquals(List.of("Migration", "Repository"), EagerTestFixtures.creationOrder);
+    }
+
+    @Test
+    void loadBean_shouldCreateOnlySharedDependsOnBeans() {
+        EagerTestFixtures.reset();
+        ApplicationRunner.loadContext(LazyEagerFixturesApplication.class);
+
+        ApplicationRunner.loadBean(EagerTestFixtures.Report.class);
+        ApplicationRunner.loadBean(EagerTestFixtures.Report.class);
+
+        // The prototype AuditEntry is not created ahead, as nothing would hold it.
+        assertEquals(List.of("AuditLog", "Report", "Report"), EagerTestFixtures.creationOrder);
+        assertTrue(ContextService.getContext().isDependsOnLoaded(KeyDefinition.builder().type(EagerTestFixtures.Report.class).name("Report").build()));
+    }
+
+    @Test
+    void loadContext_shouldFailFast_whenEagerSingletonFails() {
+        long start = System.nanoTime();
+
+        RuntimeException exception = assertThrows(RuntimeException.class, () -> ApplicationRunner.loadContext(FailingEagerApplication.class));
+
+        assertTrue(System.nanoTime() - start < 5_000_000_000L, "The slow singleton should not delay the failure.");
+        Throwable cause = exception;
+        while (cause.getCause() != null) {
+            cause = cause.getCause();
+        }
+        assertEquals("broken", cause.getMessage());
+    }
+
+    @Test
+    void loadBean_shouldInjectLazyProxy_resolvingTargetOnFirstCall() {
+        LazyTestFixtures.reset();
+        ApplicationRunner.loadContext(LazyApplication.class);
+
+        LazyTestFixtures.ReportingService service = ApplicationRunner.loadBean(LazyTestFixtures.ReportingService.class);
+        assertEquals(0, LazyTestFixtures.reportingClientCreations.get(), "The @Lazy dependency should not be created with its consumer.");
+        assertEquals(0, LazyTestFixtures.auditLogCreations.get(), "A @Lazy bean should be left out of eager initialization.");
+
+        assertEquals("report:a", service.getClient().report("a"));
+        assertEquals("report:b", service.getClient().report("b"));
+        assertThrows(IllegalArgumentException.class, () -> service.getClient().report(null));
+        assertEquals(1, service.getClients().size());
+        assertEquals(1, LazyTestFixtures.reportingClientCreations.get());
+    }
+
+    @Test
+    void lazyProxy_shouldAnswerObjectMethods_withoutCreatingTarget() {
+        LazyTestFixtures.reset();
+        ApplicationRunner.loadContext(LazyApplication.class);
+        LazyTestFixtures.ReportingClient client = ApplicationRunner.loadBean(LazyTestFixtures.ReportingService.class).getClient();
+
+        assertTrue(client.toString().contains(LazyTestFixtures.ReportingClient.class.getName()));
+        assertEquals(System.identityHashCode(client), client.hashCode());
+        assertEquals(client, client);
+        assertNotEquals(client, new Object());
+        assertTrue(new HashSet<>(List.of(client)).contains(client));
+        assertEquals(0, LazyTestFixtures.reportingClientCreations.get(), "Object methods should not create the @Lazy target.");
+    }
+
+    @Test
+    void compile_shouldRejectLazyParameterOfConcreteType() {
+        assertThrows(RuntimeException.class, () -> InjectionPlanCompiler.compile(LazyTestFixtures.LazyConcreteConsumer.class.getConstructors()[0]));
+    }
+
+    @Test
+    void loadBean_shouldInjectProviders_resolvedOnceAtInjection() {
+        ProviderInjectionTestFixtures.reset();
+        ApplicationRunner.loadContext(ProviderInjectionApplication.class);
+
+        ProviderInjectionTestFixtures.CommandHandler handler = ApplicationRunner.loadBean(ProviderInjectionTestFixtures.CommandHandler.class);
+        assertEquals(0, ProviderInjectionTestFixtures.commandCreations.get(), "Providers should not create their bean at injection.");
+
+        ResolutionCache cache = ContextService.getContext().getResolutionCache();
+        long misses = cache.getMissCount();
+        long hits = cache.getHitCount();
+        ProviderInjectionTestFixtures.Command first = handler.getCommands().get();
+        ProviderInjectionTestFixtures.Command second = handler.getCommands().get();
+        assertNotSame(first, second, "A prototype provider should create a new instance on each call.");
+        ProviderInjectionTestFixtures.Clock clock = handler.getClock().get();
+        assertSame(clock, handler.getClock().get());
+        assertEquals("short", handler.getFormatter().get().getPattern());
+        assertEquals(misses, cache.getMissCount(), "Provider calls should not resolve the bean again.");
+        assertEquals(hits, cache.getHitCount(), "Provider calls should not resolve the bean again.");
+        assertSame(ApplicationRunner.loadBean(ProviderInjectionTestFixtures.Clock.class), clock);
+    }
+
     @Test
     void loadBean_with_circular_dependency_should_fail() {
         ApplicationRunner.loadContext(CircularApplication.class);
@@ -158,6 +677,19 @@ class ApplicationRunnerTest {
         assertNotNull(externalBean, "Bean from ServiceLoader-provided package should be loaded.");
     }
 
+    // --- Type Index Tests ---
+
+    @Test
+    void loadBean_shouldResolveThroughSuperclassesAndInterfaces() {
+        ApplicationRunner.loadContext(HierarchyApplication.class);
+
+        assertInstanceOf(HierarchyTestFixtures.EnglishGreeter.class, ApplicationRunner.loadBean(HierarchyTestFixtures.AbstractGreeter.class));
+        assertInstanceOf(HierarchyTestFixtures.EnglishGreeter.class, ApplicationRunner.loadBean(HierarchyTestFixtures.PoliteGreeter.class));
+        assertEquals("bonjour", ApplicationRunner.loadBean(HierarchyTestFixtures.Greeter.class, "french").greet());
+        assertEquals(2, ApplicationRunner.loadBeans(HierarchyTestFixtures.Greeter.class).size());
+        assertThrows(RuntimeException.class, () -> ApplicationRunner.loadBean(HierarchyTestFixtures.PoliteGreeter.class, "french"));
+    }
+
     // --- @Primary Tests ---
 
     @Test
@@ -276,6 +808,34 @@ class ApplicationRunnerTest {
     private static class MissingDependencyApplication {
     }
 
+    @Application(packages = "fr.test.context.host")
+    private static class HostApplication {
+    }
+
+    @Application(packages = "fr.test.context.pool")
+    private static class PoolApplication {
+    }
+
+    @Application(packages = "fr.test.context.request")
+    private static class RequestApplication {
+    }
+
+    @Application(packages = "fr.test.context.reclaimable")
+    private static class ReclaimableApplication {
+    }
+
+    @Application(packages = "fr.test.context.refresh")
+    private static class RefreshApplication {
+    }
+
+    @Application(packages = "fr.test.context.order")
+    private static class OrderApplication {
+    }
+
+    @Application(packages = "fr.test.context.map")
+    private static class MapInjectionApplication {
+    }
+
     @Application(packages = "fr.test.context.defaultconstructor")
     private static class NoDefaultConstructorApplication {
     }
@@ -298,6 +858,34 @@ class ApplicationRunnerTest {
     private static class ServiceLoaderApplication {
     }
 
+    @Application(packages = "fr.test.context.instantiation")
+    private static class InstantiationApplication {
+    }
+
+    @Application(packages = "fr.test.context.eager", eagerInit = true)
+    private static class EagerApplication {
+    }
+
+    @Application(packages = "fr.test.context.eager")
+    private static class LazyEagerFixturesApplication {
+    }
+
+    @Application(packages = "fr.test.context.eagerfailure", eagerInit = true)
+    private static class FailingEagerApplication {
+    }
+
+    @Application(packages = "fr.test.context.lazy", eagerInit = true)
+    private static class LazyApplication {
+    }
+
+    @Application(packages = "fr.test.context.providerinjection")
+    private static class ProviderInjectionApplication {
+    }
+
+    @Application(packages = "fr.test.context.hierarchy")
+    private static class HierarchyApplication {
+    }
+
     @Application(packages = {"fr.test.context.primary.common", "fr.test.context.primary.success"})
     private static class PrimaryApplication {
     }
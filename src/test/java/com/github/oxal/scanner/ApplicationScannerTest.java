@@ -4,14 +4,29 @@ import com.github.oxal.annotation.Application;
 import com.github.oxal.context.ContextService;
 import com.github.oxal.context.TestContextHelper;
 import com.github.oxal.factory.BeanFactory;
+import com.github.oxal.object.BeanDefinition;
 import com.github.oxal.object.KeyDefinition;
 import com.github.oxal.runner.ApplicationRunner;
+import fr.test.context.base.Bean2;
+import fr.test.context.base.Method;
+import fr.test.context.callbacks.CallbackTestFixtures;
+import fr.test.context.external.ExternalBean;
+import fr.test.context.scanresult.ScanResultBeans;
+import io.github.classgraph.ClassGraph;
 import io.github.classgraph.ScanResult;
 import org.junit.jupiter.api.AfterEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 
-import java.lang.reflect.Executable;
+import java.io.File;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.attribute.FileTime;
+import java.util.List;
 import java.util.Map;
+import java.util.Set;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -29,9 +44,9 @@ class ApplicationScannerTest {
         ApplicationRunner.loadContext(this.getClass());
 
         // Then
-        Map<KeyDefinition, Executable> beanDefinitions = ContextService.getContext().getBeanDefinitions();
+        Map<KeyDefinition, BeanDefinition> beanDefinitions = ContextService.getContext().getBeanDefinitions();
         assertNotNull(beanDefinitions, "Bean definitions map in context should not be null.");
-        assertEquals(7, beanDefinitions.size(), "Context should contain X bean definitions in total.");
+        assertEquals(6, beanDefinitions.size(), "Context should contain X bean definitions in total.");
 
         // Check for a class bean definition
         assertTrue(beanDefinitions.keySet().stream()
@@ -47,4 +62,184 @@ class ApplicationScannerTest {
         assertEquals(1, ContextService.getContext().getSingletonInstances().size(), "Scanning create ScanResult singleton instance");
         assertEquals(ScanResult.class, BeanFactory.loadBean(ScanResult.class).getClass(), "Scanning create ScanResult singleton instance");
     }
+
+    @Test
+    void beanIndex_shouldPopulateContextLikeClasspathScan_withoutScanning(@TempDir Path indexRoot) throws Exception {
+        CallbackTestFixtures.reset();
+        ApplicationRunner.loadContext(IndexedApplication.class);
+        Set<KeyDefinition> scannedKeys = Set.copyOf(ContextService.getContext().getBeanDefinitions().keySet());
+        TestContextHelper.cleanup();
+        CallbackTestFixtures.reset();
+
+        Path index = indexRoot.resolve(BeanIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(
+                "# Written by hand for the test",
+                "bean=" + Bean2.class.getName(),
+                "method=" + Method.class.getName(),
+                "before=" + CallbackTestFixtures.BeforeCallbackTester.class.getName(),
+                "after=" + CallbackTestFixtures.AfterCallbackTester.class.getName(),
+                "bean=" + ExternalBean.class.getName()));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader withIndex = new URLClassLoader(new URL[]{indexRoot.toUri().toURL()}, original)) {
+            Thread.currentThread().setContextClassLoader(withIndex);
+            ApplicationRunner.loadContext(IndexedApplication.class);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+
+        assertEquals(scannedKeys, ContextService.getContext().getBeanDefinitions().keySet(), "The index should yield the same definitions as the scan.");
+        assertTrue(ContextService.getContext().getSingletonInstances().keySet().stream().noneMatch(k -> k.getType() == ScanResult.class),
+                "No ScanResult exists when the index is used.");
+        assertEquals(List.of("firstBefore", "secondBefore"), CallbackTestFixtures.beforeCallbackExecutionOrder);
+        assertFalse(CallbackTestFixtures.beforeScanResultInjected);
+        assertEquals(List.of("firstAfter", "secondAfter"), CallbackTestFixtures.afterCallbackExecutionOrder);
+        assertNotNull(ApplicationRunner.loadBean(Bean2.class).getTest());
+    }
+
+    @Test
+    void beanIndex_shouldFallBackToScan_whenCallbackExpectsScanResult(@TempDir Path indexRoot) throws Exception {
+        CallbackTestFixtures.reset();
+        Path index = indexRoot.resolve(BeanIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(
+                "bean=" + Bean2.class.getName(),
+                "method=" + Method.class.getName(),
+                "before=" + CallbackTestFixtures.ScanResultCallbackTester.class.getName()));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader withIndex = new URLClassLoader(new URL[]{indexRoot.toUri().toURL()}, original)) {
+            Thread.currentThread().setContextClassLoader(withIndex);
+            ApplicationRunner.loadContext(IndexedApplication.class);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+
+        assertTrue(CallbackTestFixtures.beforeScanResultInjected, "The callback should receive the ScanResult of a scan.");
+        assertNotNull(ApplicationRunner.loadBean(ScanResult.class));
+        assertEquals(List.of("firstBefore", "secondBefore"), CallbackTestFixtures.beforeCallbackExecutionOrder);
+    }
+
+    @Test
+    void beanIndex_shouldFallBackToScan_whenBeanInjectsScanResult(@TempDir Path indexRoot) throws Exception {
+        Path index = indexRoot.resolve(BeanIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of("method=" + ScanResultBeans.class.getName()));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader withIndex = new URLClassLoader(new URL[]{indexRoot.toUri().toURL()}, original)) {
+            Thread.currentThread().setContextClassLoader(withIndex);
+            ApplicationRunner.loadContext(ScanResultApplication.class);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+
+        assertEquals("scanned", ApplicationRunner.loadBean(String.class, "testScanResult"));
+    }
+
+    @Test
+    void beanIndex_shouldScanClasspathEntriesItDoesNotCover(@TempDir Path indexRoot, @TempDir Path unindexedRoot) throws Exception {
+        CallbackTestFixtures.reset();
+        ApplicationRunner.loadContext(IndexedApplication.class);
+        Set<KeyDefinition> scannedKeys = Set.copyOf(ContextService.getContext().getBeanDefinitions().keySet());
+        TestContextHelper.cleanup();
+        CallbackTestFixtures.reset();
+
+        // The callbacks package is only partly indexed: the after callback lives in an entry built without the processor
+        Path index = indexRoot.resolve(BeanIndex.LOCATION);
+        Files.createDirectories(index.getParent());
+        Files.write(index, List.of(
+                "bean=" + Bean2.class.getName(),
+                "method=" + Method.class.getName(),
+                "before=" + CallbackTestFixtures.BeforeCallbackTester.class.getName()));
+        copyClass(ExternalBean.class, unindexedRoot);
+        copyClass(CallbackTestFixtures.AfterCallbackTester.class, unindexedRoot);
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        URL[] urls = {indexRoot.toUri().toURL(), unindexedRoot.toUri().toURL()};
+        try (URLClassLoader withIndex = new URLClassLoader(urls, original)) {
+            Thread.currentThread().setContextClassLoader(withIndex);
+            ApplicationRunner.loadContext(IndexedApplication.class);
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+        }
+
+        assertEquals(scannedKeys, ContextService.getContext().getBeanDefinitions().keySet(),
+                "Beans of the classpath entries missing from the index should still be found.");
+        assertTrue(ContextService.getContext().getBeanDefinitions().keySet().stream().anyMatch(k -> k.getType() == ExternalBean.class));
+        assertEquals(List.of("firstBefore", "secondBefore"), CallbackTestFixtures.beforeCallbackExecutionOrder);
+        assertEquals(List.of("firstAfter", "secondAfter"), CallbackTestFixtures.afterCallbackExecutionOrder);
+    }
+
+    private static void copyClass(Class<?> type, Path root) throws Exception {
+        String resource = type.getName().replace('.', '/') + ".class";
+        Path target = root.resolve(resource);
+        Files.createDirectories(target.getParent());
+        Files.copy(Path.of(type.getClassLoader().getResource(resource).toURI()), target);
+    }
+
+    @Test
+    void scanCache_shouldRescanOnlyChangedClasspathEntries(@TempDir Path cacheDirectory) throws Exception {
+        Path file = cacheDirectory.resolve("scan.cache");
+        String[] packages = {"fr.test.context.base", "fr.test.context.stereotype"};
+        List<File> classpath = ScanCache.currentClasspath();
+        ClassLoader classLoader = getClass().getClassLoader();
+
+        ScanCache cold = ScanCache.load(file, packages);
+        BeanIndex scanned = cold.update(classpath, classLoader);
+        assertEquals(classpath.size(), cold.getRescannedEntryCount());
+        try (ScanResult scanResult = new ClassGraph().enableAllInfo().acceptPackages(packages).scan()) {
+            assertEquals(Set.copyOf(scanResult.getClassesWithAnnotation(com.github.oxal.annotation.Bean.class.getName())
+                            .filter(classInfo -> !classInfo.isAnnotation()).getNames()),
+                    scanned.getBeanClasses(), "The cache should find the same beans, stereotypes included, as a scan.");
+        }
+
+        ScanCache warm = ScanCache.load(file, packages);
+        assertEquals(scanned.getBeanClasses(), warm.update(classpath, classLoader).getBeanClasses());
+        assertEquals(0, warm.getRescannedEntryCount());
+        assertEquals(classpath.size(), warm.getReusedEntryCount());
+
+        Path classFile = Path.of(Bean2.class.getResource("Bean2.class").toURI());
+        FileTime modified = Files.getLastModifiedTime(classFile);
+        try {
+            Files.setLastModifiedTime(classFile, FileTime.fromMillis(modified.toMillis() + 10_000));
+            ScanCache touched = ScanCache.load(file, packages);
+            BeanIndex rescanned = touched.update(classpath, classLoader);
+            assertEquals(1, touched.getRescannedEntryCount(), "Only the directory holding Bean2 should be scanned again.");
+            assertEquals(scanned.getBeanClasses(), rescanned.getBeanClasses());
+            assertEquals(scanned.getMethodBeanClasses(), rescanned.getMethodBeanClasses());
+        } finally {
+            Files.setLastModifiedTime(classFile, modified);
+        }
+
+        ScanCache otherPackages = ScanCache.load(file, new String[]{"fr.test.context.base"});
+        otherPackages.update(classpath, classLoader);
+        assertEquals(classpath.size(), otherPackages.getRescannedEntryCount());
+    }
+
+    @Test
+    void scanCache_shouldPopulateContext_whenEnabled(@TempDir Path cacheDirectory) {
+        System.setProperty(ScanCache.PATH_PROPERTY, cacheDirectory.resolve("scan.cache").toString());
+        try {
+            ApplicationRunner.loadContext(this.getClass());
+            Set<KeyDefinition> cold = Set.copyOf(ContextService.getContext().getBeanDefinitions().keySet());
+            TestContextHelper.cleanup();
+
+            ApplicationRunner.loadContext(this.getClass());
+            assertEquals(6, cold.size());
+            assertEquals(cold, ContextService.getContext().getBeanDefinitions().keySet());
+            assertNotNull(ApplicationRunner.loadBean(Bean2.class).getTest());
+        } finally {
+            System.clearProperty(ScanCache.PATH_PROPERTY);
+        }
+    }
+
+    @Application(packages = {"fr.test.context.base", "fr.test.context.callbacks"})
+    private static class IndexedApplication {
+    }
+
+    @Application(packages = "fr.test.context.scanresult")
+    private static class ScanResultApplication {
+    }
 }
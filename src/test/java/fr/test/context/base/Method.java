@@ -2,7 +2,6 @@ package fr.test.context.base;
 
 import com.github.oxal.annotation.Bean;
 import com.github.oxal.annotation.Qualifier;
-import io.github.classgraph.ScanResult;
 
 public class Method {
 
@@ -25,9 +24,4 @@ public class Method {
     public Bean1 testBean(@Qualifier("test3") String test) {
         return new Bean1(test);
     }
-
-    @Bean("testScanResult")
-    public String testScanResult(ScanResult scanResult) {
-        return "null";
-    }
 }
@@ -39,8 +39,16 @@ public class CallbackTestFixtures {
         }
 
         @BeforeContextLoad(order = 10)
-        public void firstBefore(ScanResult scanResult) {
+        public void firstBefore() {
             beforeCallbackExecutionOrder.add("firstBefore");
+        }
+    }
+
+    // --- Class with a @BeforeContextLoad method expecting the classpath scan ---
+    public static class ScanResultCallbackTester {
+
+        @BeforeContextLoad(order = 15)
+        public void inspect(ScanResult scanResult) {
             if (scanResult != null) {
                 beforeScanResultInjected = true;
             }
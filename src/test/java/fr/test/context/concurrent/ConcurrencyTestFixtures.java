@@ -0,0 +1,58 @@
+package fr.test.context.concurrent;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ConcurrencyTestFixtures {
+
+    public static final AtomicInteger slowCreations = new AtomicInteger();
+    public static final AtomicInteger dependentCreations = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        slowCreations.set(0);
+        dependentCreations.set(0);
+    }
+
+    /**
+     * A singleton that takes a while to build, like a connection pool warming up.
+     */
+    @Bean
+    public static class SlowSingleton {
+        public SlowSingleton() throws InterruptedException {
+            slowCreations.incrementAndGet();
+            Thread.sleep(100);
+        }
+    }
+
+    @Bean
+    public static class DependentSingleton {
+        private final SlowSingleton slow;
+
+        public DependentSingleton(SlowSingleton slow) {
+            dependentCreations.incrementAndGet();
+            this.slow = slow;
+        }
+
+        public SlowSingleton getSlow() {
+            return slow;
+        }
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class PrototypeConsumer {
+        private final SlowSingleton slow;
+
+        public PrototypeConsumer(SlowSingleton slow) {
+            this.slow = slow;
+        }
+
+        public SlowSingleton getSlow() {
+            return slow;
+        }
+    }
+}
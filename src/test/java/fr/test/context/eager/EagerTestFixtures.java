@@ -0,0 +1,104 @@
+package fr.test.context.eager;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.DependsOn;
+import com.github.oxal.annotation.ScopeType;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+public class EagerTestFixtures {
+
+    public static final List<String> creationOrder = new CopyOnWriteArrayList<>();
+    public static volatile long firstWarmerStart;
+    public static volatile long firstWarmerEnd;
+    public static volatile long secondWarmerStart;
+    public static volatile long secondWarmerEnd;
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        creationOrder.clear();
+        firstWarmerStart = 0;
+        firstWarmerEnd = 0;
+        secondWarmerStart = 0;
+        secondWarmerEnd = 0;
+    }
+
+    /**
+     * An I/O bound singleton, like a connection pool warming up.
+     */
+    @Bean
+    public static class FirstWarmer {
+        public FirstWarmer() throws InterruptedException {
+            firstWarmerStart = System.nanoTime();
+            Thread.sleep(300);
+            firstWarmerEnd = System.nanoTime();
+            creationOrder.add("FirstWarmer");
+        }
+    }
+
+    @Bean
+    public static class SecondWarmer {
+        public SecondWarmer() throws InterruptedException {
+            secondWarmerStart = System.nanoTime();
+            Thread.sleep(300);
+            secondWarmerEnd = System.nanoTime();
+            creationOrder.add("SecondWarmer");
+        }
+    }
+
+    /**
+     * Reaches {@link SecondWarmer} through a prototype only.
+     */
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class WarmerClient {
+        public WarmerClient(SecondWarmer secondWarmer) {
+        }
+    }
+
+    @Bean
+    public static class Service {
+        public Service(FirstWarmer firstWarmer, WarmerClient client) {
+            creationOrder.add("Service");
+        }
+    }
+
+    @Bean
+    public static class Migration {
+        public Migration() {
+            creationOrder.add("Migration");
+        }
+    }
+
+    @Bean
+    @DependsOn("Migration")
+    public static class Repository {
+        public Repository() {
+            creationOrder.add("Repository");
+        }
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class AuditEntry {
+        public AuditEntry() {
+            creationOrder.add("AuditEntry");
+        }
+    }
+
+    @Bean
+    public static class AuditLog {
+        public AuditLog() {
+            creationOrder.add("AuditLog");
+        }
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    @DependsOn({"AuditEntry", "AuditLog"})
+    public static class Report {
+        public Report() {
+            creationOrder.add("Report");
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package fr.test.context.eagerfailure;
+
+import com.github.oxal.annotation.Bean;
+
+public class FailingEagerTestFixtures {
+
+    @Bean
+    public static class BrokenBean {
+        public BrokenBean() {
+            throw new IllegalStateException("broken");
+        }
+    }
+
+    /**
+     * Would delay the context for 10 seconds if the failure of {@link BrokenBean} did not interrupt it.
+     */
+    @Bean
+    public static class SlowBean {
+        public SlowBean() throws InterruptedException {
+            Thread.sleep(10_000);
+        }
+    }
+
+    @Bean
+    public static class DependentOfBroken {
+        public DependentOfBroken(BrokenBean brokenBean) {
+        }
+    }
+}
@@ -0,0 +1,32 @@
+package fr.test.context.hierarchy;
+
+import com.github.oxal.annotation.Bean;
+
+public class HierarchyTestFixtures {
+
+    public interface Greeter {
+        String greet();
+    }
+
+    public interface PoliteGreeter extends Greeter {
+    }
+
+    public abstract static class AbstractGreeter implements PoliteGreeter {
+    }
+
+    @Bean("english")
+    public static class EnglishGreeter extends AbstractGreeter {
+        @Override
+        public String greet() {
+            return "hello";
+        }
+    }
+
+    @Bean("french")
+    public static class FrenchGreeter implements Greeter {
+        @Override
+        public String greet() {
+            return "bonjour";
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package fr.test.context.host;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.BeanHost;
+import com.github.oxal.annotation.ScopeType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class HostTestFixtures {
+
+    public static final AtomicInteger sharedHosts = new AtomicInteger();
+    public static final AtomicInteger prototypeHosts = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        sharedHosts.set(0);
+        prototypeHosts.set(0);
+    }
+
+    @Bean
+    public static class Greeting {
+        public String text() {
+            return "hello";
+        }
+    }
+
+    public record Message(String text, Object host) {
+    }
+
+    /**
+     * Hosts its methods on a single instance, created with its own dependency injected.
+     */
+    public static class SharedHost {
+        private final Greeting greeting;
+
+        public SharedHost(Greeting greeting) {
+            this.greeting = greeting;
+            sharedHosts.incrementAndGet();
+        }
+
+        @Bean(value = "sharedMessage", scope = ScopeType.PROTOTYPE)
+        public Message sharedMessage() {
+            return new Message(greeting.text(), this);
+        }
+
+        @Bean("sharedLength")
+        public Integer sharedLength() {
+            return greeting.text().length();
+        }
+    }
+
+    @BeanHost(scope = ScopeType.PROTOTYPE)
+    public static class PrototypeHost {
+        public PrototypeHost() {
+            prototypeHosts.incrementAndGet();
+        }
+
+        @Bean(value = "prototypeMessage", scope = ScopeType.PROTOTYPE)
+        public Message prototypeMessage() {
+            return new Message("hello", this);
+        }
+    }
+}
@@ -0,0 +1,62 @@
+package fr.test.context.instantiation;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+
+public class InstantiationTestFixtures {
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class NoArgPrototype {
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class PrototypeWithDependency {
+        private final NoArgPrototype dependency;
+
+        public PrototypeWithDependency(NoArgPrototype dependency) {
+            this.dependency = dependency;
+        }
+
+        public NoArgPrototype getDependency() {
+            return dependency;
+        }
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class FailingPrototype {
+        public FailingPrototype() {
+            throw new IllegalStateException("boom");
+        }
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class BrokenPrototype {
+        public BrokenPrototype() {
+            throw new LinkageError("broken");
+        }
+    }
+
+    public static class Widget {
+        private final String label;
+
+        public Widget(String label) {
+            this.label = label;
+        }
+
+        public String getLabel() {
+            return label;
+        }
+    }
+
+    public static class WidgetFactory {
+        @Bean(value = "staticWidget", scope = ScopeType.PROTOTYPE)
+        public static Widget staticWidget() {
+            return new Widget("static");
+        }
+
+        @Bean(value = "instanceWidget", scope = ScopeType.PROTOTYPE)
+        Widget instanceWidget(PrototypeWithDependency dependency) {
+            return new Widget(dependency.getDependency() != null ? "instance" : null);
+        }
+    }
+}
@@ -0,0 +1,79 @@
+package fr.test.context.lazy;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Lazy;
+
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class LazyTestFixtures {
+
+    public static final AtomicInteger reportingClientCreations = new AtomicInteger();
+    public static final AtomicInteger auditLogCreations = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        reportingClientCreations.set(0);
+        auditLogCreations.set(0);
+    }
+
+    public interface ReportingClient {
+        String report(String name);
+    }
+
+    /**
+     * An expensive collaborator, only used from time to time.
+     */
+    @Bean
+    @Lazy
+    public static class HeavyReportingClient implements ReportingClient {
+        public HeavyReportingClient() {
+            reportingClientCreations.incrementAndGet();
+        }
+
+        @Override
+        public String report(String name) {
+            if (name == null) {
+                throw new IllegalArgumentException("name is required");
+            }
+            return "report:" + name;
+        }
+    }
+
+    @Bean
+    public static class ReportingService {
+        private final ReportingClient client;
+        private final List<ReportingClient> clients;
+
+        public ReportingService(@Lazy ReportingClient client, @Lazy List<ReportingClient> clients) {
+            this.client = client;
+            this.clients = clients;
+        }
+
+        public ReportingClient getClient() {
+            return client;
+        }
+
+        public List<ReportingClient> getClients() {
+            return clients;
+        }
+    }
+
+    @Bean
+    @Lazy
+    public static class AuditLog {
+        public AuditLog() {
+            auditLogCreations.incrementAndGet();
+        }
+    }
+
+    /**
+     * Invalid: {@code @Lazy} requires an interface type.
+     */
+    public static class LazyConcreteConsumer {
+        public LazyConcreteConsumer(@Lazy AuditLog auditLog) {
+        }
+    }
+}
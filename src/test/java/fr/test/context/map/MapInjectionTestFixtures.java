@@ -0,0 +1,40 @@
+package fr.test.context.map;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Order;
+import com.github.oxal.annotation.ScopeType;
+
+import java.util.Map;
+
+public class MapInjectionTestFixtures {
+
+    public interface PaymentHandler {
+    }
+
+    @Bean("card")
+    @Order(2)
+    public static class CardHandler implements PaymentHandler {
+    }
+
+    @Bean("wallet")
+    @Order(1)
+    public static class WalletHandler implements PaymentHandler {
+    }
+
+    @Bean(value = "transfer", scope = ScopeType.PROTOTYPE)
+    public static class TransferHandler implements PaymentHandler {
+    }
+
+    @Bean
+    public static class PaymentRouter {
+        private final Map<String, PaymentHandler> handlers;
+
+        public PaymentRouter(Map<String, PaymentHandler> handlers) {
+            this.handlers = handlers;
+        }
+
+        public Map<String, PaymentHandler> getHandlers() {
+            return handlers;
+        }
+    }
+}
@@ -0,0 +1,43 @@
+package fr.test.context.order;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Order;
+import com.github.oxal.annotation.ScopeType;
+
+public class OrderTestFixtures {
+
+    public interface Handler {
+    }
+
+    @Bean
+    public static class UnorderedHandler implements Handler {
+    }
+
+    @Bean
+    @Order(2)
+    public static class SecondHandler implements Handler {
+    }
+
+    public static class FirstHandler implements Handler {
+    }
+
+    public static class HandlerConfig {
+        @Bean("firstHandler")
+        @Order(1)
+        public static FirstHandler firstHandler() {
+            return new FirstHandler();
+        }
+    }
+
+    public interface Step {
+    }
+
+    @Bean
+    public static class SharedStep implements Step {
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    @Order(1)
+    public static class PrototypeStep implements Step {
+    }
+}
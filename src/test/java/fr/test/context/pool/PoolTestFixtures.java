@@ -0,0 +1,80 @@
+package fr.test.context.pool;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.pool.BeanPool;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class PoolTestFixtures {
+
+    public static final AtomicInteger parsersCreated = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        parsersCreated.set(0);
+    }
+
+    @Bean(scope = ScopeType.POOLED, poolMinSize = 1, poolMaxSize = 2)
+    public static class Parser {
+        public Parser() {
+            parsersCreated.incrementAndGet();
+        }
+    }
+
+    @Bean
+    public static class ParserClient {
+        private final BeanPool<Parser> parsers;
+
+        public ParserClient(BeanPool<Parser> parsers) {
+            this.parsers = parsers;
+        }
+
+        public BeanPool<Parser> getParsers() {
+            return parsers;
+        }
+    }
+
+    /**
+     * Expects a pooled bean as a plain dependency, which cannot be loaded.
+     */
+    @Bean
+    public static class ParserMisuser {
+        public ParserMisuser(Parser parser) {
+        }
+    }
+
+    public interface Codec {
+    }
+
+    @Bean(scope = ScopeType.POOLED)
+    public static class PooledCodec implements Codec {
+    }
+
+    @Bean
+    public static class JsonCodec implements Codec {
+    }
+
+    @Bean
+    public static class CodecRegistry {
+        private final List<Codec> codecs;
+        private final Map<String, Codec> codecsByName;
+
+        public CodecRegistry(List<Codec> codecs, Map<String, Codec> codecsByName) {
+            this.codecs = codecs;
+            this.codecsByName = codecsByName;
+        }
+
+        public List<Codec> getCodecs() {
+            return codecs;
+        }
+
+        public Map<String, Codec> getCodecsByName() {
+            return codecsByName;
+        }
+    }
+}
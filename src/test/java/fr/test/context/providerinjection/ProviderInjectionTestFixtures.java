@@ -0,0 +1,82 @@
+package fr.test.context.providerinjection;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Qualifier;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.provider.Provider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
+
+public class ProviderInjectionTestFixtures {
+
+    public static final AtomicInteger commandCreations = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        commandCreations.set(0);
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class Command {
+        public Command() {
+            commandCreations.incrementAndGet();
+        }
+    }
+
+    @Bean
+    public static class Clock {
+    }
+
+    public static class Formatter {
+        private final String pattern;
+
+        public Formatter(String pattern) {
+            this.pattern = pattern;
+        }
+
+        public String getPattern() {
+            return pattern;
+        }
+    }
+
+    public static class Formatters {
+        @Bean("isoFormatter")
+        public Formatter isoFormatter() {
+            return new Formatter("iso");
+        }
+
+        @Bean("shortFormatter")
+        public Formatter shortFormatter() {
+            return new Formatter("short");
+        }
+    }
+
+    @Bean
+    public static class CommandHandler {
+        private final Provider<Command> commands;
+        private final Supplier<Clock> clock;
+        private final Provider<Formatter> formatter;
+
+        public CommandHandler(Provider<Command> commands, Supplier<Clock> clock,
+                              @Qualifier("shortFormatter") Provider<Formatter> formatter) {
+            this.commands = commands;
+            this.clock = clock;
+            this.formatter = formatter;
+        }
+
+        public Provider<Command> getCommands() {
+            return commands;
+        }
+
+        public Supplier<Clock> getClock() {
+            return clock;
+        }
+
+        public Provider<Formatter> getFormatter() {
+            return formatter;
+        }
+    }
+}
@@ -0,0 +1,34 @@
+package fr.test.context.reclaimable;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class ReclaimableTestFixtures {
+
+    public static final AtomicInteger tablesBuilt = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        tablesBuilt.set(0);
+    }
+
+    /**
+     * A lookup table that can be rebuilt whenever the garbage collector reclaims it.
+     */
+    @Bean(scope = ScopeType.WEAK)
+    public static class LookupTable {
+        private final int[] entries = new int[1 << 16];
+
+        public LookupTable() {
+            tablesBuilt.incrementAndGet();
+        }
+
+        public int size() {
+            return entries.length;
+        }
+    }
+}
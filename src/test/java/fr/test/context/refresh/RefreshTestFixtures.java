@@ -0,0 +1,34 @@
+package fr.test.context.refresh;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RefreshTestFixtures {
+
+    public static final AtomicInteger credentialsCreated = new AtomicInteger();
+    public static final AtomicInteger credentialsClosed = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        credentialsCreated.set(0);
+        credentialsClosed.set(0);
+    }
+
+    @Bean(scope = ScopeType.REFRESHABLE, refreshTtlMillis = 50, refreshGraceMillis = 0)
+    public static class Credentials implements AutoCloseable {
+        private final int generation = credentialsCreated.incrementAndGet();
+
+        public int getGeneration() {
+            return generation;
+        }
+
+        @Override
+        public void close() {
+            credentialsClosed.incrementAndGet();
+        }
+    }
+}
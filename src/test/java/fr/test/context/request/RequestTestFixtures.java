@@ -0,0 +1,56 @@
+package fr.test.context.request;
+
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.provider.Provider;
+
+import java.util.concurrent.atomic.AtomicInteger;
+
+public class RequestTestFixtures {
+
+    public static final AtomicInteger contextsClosed = new AtomicInteger();
+
+    /**
+     * Resets all static trackers before each test.
+     */
+    public static void reset() {
+        contextsClosed.set(0);
+    }
+
+    @Bean(scope = ScopeType.REQUEST)
+    public static class RequestContext implements AutoCloseable {
+        @Override
+        public void close() {
+            contextsClosed.incrementAndGet();
+        }
+    }
+
+    @Bean(scope = ScopeType.REQUEST)
+    public static class RequestHandler {
+        private final RequestContext requestContext;
+
+        public RequestHandler(RequestContext requestContext) {
+            this.requestContext = requestContext;
+        }
+
+        public RequestContext getRequestContext() {
+            return requestContext;
+        }
+    }
+
+    /**
+     * A singleton reaching the request scoped bean of the current request through a provider.
+     */
+    @Bean
+    public static class Dispatcher {
+        private final Provider<RequestContext> requestContext;
+
+        public Dispatcher(Provider<RequestContext> requestContext) {
+            this.requestContext = requestContext;
+        }
+
+        public RequestContext currentContext() {
+            return requestContext.get();
+        }
+    }
+}
@@ -0,0 +1,12 @@
+package fr.test.context.scanresult;
+
+import com.github.oxal.annotation.Bean;
+import io.github.classgraph.ScanResult;
+
+public class ScanResultBeans {
+
+    @Bean("testScanResult")
+    public String testScanResult(ScanResult scanResult) {
+        return scanResult != null ? "scanned" : "null";
+    }
+}
@@ -0,0 +1,79 @@
+#!/usr/bin/env python3
+"""Compares two JMH result files, written with -rf json, and flags the benchmarks that regressed.
+
+Usage: compare-results.py BASELINE.json CURRENT.json [--threshold PERCENT]
+
+A benchmark regresses when its score is worse than the baseline by more than the threshold (10% by default) and by
+more than the error margins of both runs combined. Throughput scores are better when higher, all others when lower.
+The exit status is 1 if any benchmark regressed, so that the script can gate a build.
+"""
+
+import argparse
+import json
+import math
+import sys
+
+
+def load(path):
+    with open(path, encoding="utf-8") as file:
+        results = {}
+        for result in json.load(file):
+            params = ",".join(f"{name}={value}" for name, value in sorted(result.get("params", {}).items()))
+            name = result["benchmark"].rsplit(".", 2)[-2:]
+            key = ".".join(name) + (f"({params})" if params else "")
+            results[key] = result
+        return results
+
+
+def error_of(metric):
+    error = metric.get("scoreError")
+    try:
+        error = float(error)
+    except (TypeError, ValueError):
+        return 0.0
+    return 0.0 if math.isnan(error) else error
+
+
+def main():
+    parser = argparse.ArgumentParser(description="Flags JMH benchmarks that regressed against a baseline.")
+    parser.add_argument("baseline")
+    parser.add_argument("current")
+    parser.add_argument("--threshold", type=float, default=10.0, help="tolerated slowdown, in percent (default: 10)")
+    args = parser.parse_args()
+
+    baseline = load(args.baseline)
+    current = load(args.current)
+    regressions = 0
+
+    print(f"{'Benchmark':<66} {'Baseline':>14} {'Current':>14} {'Change':>9}  Unit")
+    for key in sorted(baseline.keys() | current.keys()):
+        if key not in baseline or key not in current:
+            print(f"{key:<66} {'only in ' + ('baseline' if key in baseline else 'current'):>39}")
+            continue
+        before, after = baseline[key], current[key]
+        before_metric, after_metric = before["primaryMetric"], after["primaryMetric"]
+        if before["mode"] != after["mode"] or before_metric["scoreUnit"] != after_metric["scoreUnit"]:
+            print(f"{key:<66} {'mode or unit changed, not compared':>39}")
+            continue
+
+        before_score, after_score = before_metric["score"], after_metric["score"]
+        higher_is_better = before["mode"] == "thrpt"
+        # Positive when the current run is worse, whatever the mode.
+        slowdown = (before_score - after_score) if higher_is_better else (after_score - before_score)
+        change = 100.0 * slowdown / before_score if before_score else 0.0
+        regressed = change > args.threshold and slowdown > error_of(before_metric) + error_of(after_metric)
+        regressions += regressed
+
+        flag = "  REGRESSION" if regressed else ""
+        delta = 100.0 * (after_score - before_score) / before_score + 0.0 if before_score else 0.0
+        print(f"{key:<66} {before_score:>14.3f} {after_score:>14.3f} {delta:>+8.1f}%  {after_metric['scoreUnit']}{flag}")
+
+    if regressions:
+        print(f"\n{regressions} benchmark(s) regressed by more than {args.threshold:g}%.")
+        return 1
+    print(f"\nNo benchmark regressed by more than {args.threshold:g}%.")
+    return 0
+
+
+if __name__ == "__main__":
+    sys.exit(main())
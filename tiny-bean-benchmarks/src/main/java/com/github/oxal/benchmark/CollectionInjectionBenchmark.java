@@ -0,0 +1,46 @@
+package com.github.oxal.benchmark;
+
+import com.github.oxal.benchmark.collection.CollectionFixtures;
+import com.github.oxal.context.BenchmarkContextHelper;
+import com.github.oxal.context.ContextService;
+import com.github.oxal.runner.ApplicationRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of prototypes injected with every implementation of an interface, as a {@code List} or a {@code Set}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class CollectionInjectionBenchmark {
+
+    @Param({"10", "100", "1000"})
+    private int implementations;
+
+    @Setup
+    public void setup() {
+        ApplicationRunner.loadContext(CollectionFixtures.CollectionApplication.class);
+        CollectionFixtures.registerPlugins(ContextService.getContext(), implementations);
+        ApplicationRunner.loadBeans(CollectionFixtures.Plugin.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContextHelper.reset();
+    }
+
+    @Benchmark
+    public Object listInjection() {
+        return ApplicationRunner.loadBean(CollectionFixtures.PluginList.class);
+    }
+
+    @Benchmark
+    public Object setInjection() {
+        return ApplicationRunner.loadBean(CollectionFixtures.PluginSet.class);
+    }
+}
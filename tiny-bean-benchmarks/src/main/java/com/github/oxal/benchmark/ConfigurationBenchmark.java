@@ -0,0 +1,46 @@
+package com.github.oxal.benchmark;
+
+import com.github.oxal.benchmark.configuration.ConfigurationFixtures;
+import com.github.oxal.context.BenchmarkContextHelper;
+import com.github.oxal.injector.ConfigurationInjector;
+import com.github.oxal.runner.ApplicationRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Binding of {@code application.properties} entries to {@code @Configuration} classes.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ConfigurationBenchmark {
+
+    @Setup
+    public void setup() {
+        ApplicationRunner.loadContext(ConfigurationFixtures.ConfigurationApplication.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContextHelper.reset();
+    }
+
+    /**
+     * Binds flat and nested properties to a new instance, outside of any bean creation.
+     */
+    @Benchmark
+    public Object bindNested() {
+        ConfigurationFixtures.ServerConfig config = new ConfigurationFixtures.ServerConfig();
+        ConfigurationInjector.inject(config, "server");
+        return config;
+    }
+
+    @Benchmark
+    public Object prototypeConfiguration() {
+        return ApplicationRunner.loadBean(ConfigurationFixtures.ClientConfig.class);
+    }
+}
@@ -0,0 +1,56 @@
+package com.github.oxal.benchmark;
+
+import com.github.oxal.benchmark.lazy.LazyFixtures;
+import com.github.oxal.context.BenchmarkContextHelper;
+import com.github.oxal.runner.ApplicationRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.lang.reflect.Method;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Calls through the proxy of a {@code @Lazy} dependency once its target is resolved, against a direct call and the
+ * {@link Method#invoke} forwarding the proxy used to rely on.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LazyProxyBenchmark {
+
+    private LazyFixtures.Calculator direct;
+    private LazyFixtures.Calculator proxy;
+    private Method add;
+    private int operand;
+
+    @Setup
+    public void setup() throws NoSuchMethodException {
+        ApplicationRunner.loadContext(LazyFixtures.LazyApplication.class);
+        direct = ApplicationRunner.loadBean(LazyFixtures.Calculator.class);
+        proxy = ApplicationRunner.loadBean(LazyFixtures.Invoice.class).getCalculator();
+        proxy.add(0, 0);
+        add = LazyFixtures.Calculator.class.getMethod("add", int.class, int.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContextHelper.reset();
+    }
+
+    @Benchmark
+    public int directCall() {
+        return direct.add(operand++, 1);
+    }
+
+    @Benchmark
+    public int lazyProxyCall() {
+        return proxy.add(operand++, 1);
+    }
+
+    @Benchmark
+    public Object reflectiveCall() throws ReflectiveOperationException {
+        return add.invoke(direct, operand++, 1);
+    }
+}
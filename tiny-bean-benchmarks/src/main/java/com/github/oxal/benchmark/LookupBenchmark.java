@@ -0,0 +1,77 @@
+package com.github.oxal.benchmark;
+
+import com.github.oxal.benchmark.lookup.LookupFixtures;
+import com.github.oxal.context.BenchmarkContextHelper;
+import com.github.oxal.context.ContextService;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.resolver.BeanDefinitionResolver;
+import com.github.oxal.runner.ApplicationRunner;
+import com.github.oxal.runner.BeanRef;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Lookups of singletons that already exist: the steady state of an application.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class LookupBenchmark {
+
+    private BeanRef<LookupFixtures.Repository> repositoryRef;
+
+    @Setup
+    public void setup() {
+        ApplicationRunner.loadContext(LookupFixtures.LookupApplication.class);
+        repositoryRef = BeanRef.of(LookupFixtures.Repository.class);
+        repositoryRef.get();
+        ApplicationRunner.loadBean(LookupFixtures.Clock.class, "fixedClock");
+        ApplicationRunner.loadBean(LookupFixtures.Codec.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContextHelper.reset();
+    }
+
+    @Benchmark
+    public Object singletonByType() {
+        return ApplicationRunner.loadBean(LookupFixtures.Repository.class);
+    }
+
+    /**
+     * The same lookup from one thread per core, to show how reads of the frozen context scale.
+     */
+    @Benchmark
+    @Threads(Threads.MAX)
+    public Object singletonByTypeConcurrently() {
+        return ApplicationRunner.loadBean(LookupFixtures.Repository.class);
+    }
+
+    @Benchmark
+    public Object singletonByQualifier() {
+        return ApplicationRunner.loadBean(LookupFixtures.Clock.class, "fixedClock");
+    }
+
+    @Benchmark
+    public Object singletonByPrimary() {
+        return ApplicationRunner.loadBean(LookupFixtures.Codec.class);
+    }
+
+    /**
+     * The {@code @Primary} disambiguation itself, which the resolution cache otherwise hides.
+     */
+    @Benchmark
+    public KeyDefinition primaryResolution() {
+        return BeanDefinitionResolver.resolve(LookupFixtures.Codec.class, null, ContextService.getContext());
+    }
+
+    @Benchmark
+    public Object singletonByBeanRef() {
+        return repositoryRef.get();
+    }
+}
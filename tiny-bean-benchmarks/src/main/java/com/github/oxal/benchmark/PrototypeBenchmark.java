@@ -0,0 +1,40 @@
+package com.github.oxal.benchmark;
+
+import com.github.oxal.benchmark.prototype.PrototypeFixtures;
+import com.github.oxal.context.BenchmarkContextHelper;
+import com.github.oxal.runner.ApplicationRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creation of prototypes with one singleton dependency.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrototypeBenchmark {
+
+    @Setup
+    public void setup() {
+        ApplicationRunner.loadContext(PrototypeFixtures.PrototypeApplication.class);
+    }
+
+    @TearDown
+    public void tearDown() {
+        BenchmarkContextHelper.reset();
+    }
+
+    @Benchmark
+    public Object prototypeByConstructor() {
+        return ApplicationRunner.loadBean(PrototypeFixtures.Car.class);
+    }
+
+    @Benchmark
+    public Object prototypeByBeanMethod() {
+        return ApplicationRunner.loadBean(PrototypeFixtures.Wheel.class);
+    }
+}
@@ -0,0 +1,48 @@
+package com.github.oxal.benchmark;
+
+import com.github.oxal.benchmark.startup.StartupFixtures;
+import com.github.oxal.context.BenchmarkContextHelper;
+import com.github.oxal.context.Context;
+import com.github.oxal.context.ContextService;
+import com.github.oxal.runner.ApplicationRunner;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Loading a context with {@code ContextInitializer.initialize}, classpath scan and eager initialization included.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.SingleShotTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class StartupBenchmark {
+
+    @TearDown(Level.Invocation)
+    public void tearDown() {
+        BenchmarkContextHelper.reset();
+    }
+
+    /**
+     * The first context load of a fresh JVM, as at application start: one measurement per fork.
+     */
+    @Benchmark
+    @Warmup(iterations = 0)
+    @Measurement(iterations = 1)
+    @Fork(20)
+    public Context coldStart() {
+        ApplicationRunner.loadContext(StartupFixtures.StartupApplication.class);
+        return ContextService.getContext();
+    }
+
+    /**
+     * Repeated context loads in a warmed-up JVM, as in a test suite.
+     */
+    @Benchmark
+    @Warmup(iterations = 20)
+    @Measurement(iterations = 50)
+    @Fork(1)
+    public Context warmStart() {
+        ApplicationRunner.loadContext(StartupFixtures.StartupApplication.class);
+        return ContextService.getContext();
+    }
+}
@@ -0,0 +1,62 @@
+package com.github.oxal.benchmark.collection;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.Context;
+import com.github.oxal.object.KeyDefinition;
+
+import java.util.List;
+import java.util.Set;
+
+public class CollectionFixtures {
+
+    @Application
+    public static class CollectionApplication {
+    }
+
+    public interface Plugin {
+    }
+
+    /**
+     * Not a bean by itself: {@link #registerPlugins} registers it under as many names as needed.
+     */
+    public static class PluginImpl implements Plugin {
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class PluginList {
+        private final List<Plugin> plugins;
+
+        public PluginList(List<Plugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        public List<Plugin> getPlugins() {
+            return plugins;
+        }
+    }
+
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class PluginSet {
+        private final Set<Plugin> plugins;
+
+        public PluginSet(Set<Plugin> plugins) {
+            this.plugins = plugins;
+        }
+
+        public Set<Plugin> getPlugins() {
+            return plugins;
+        }
+    }
+
+    /**
+     * Registers {@code count} singleton implementations of {@link Plugin}, named {@code plugin0} onwards.
+     */
+    public static void registerPlugins(Context context, int count) {
+        for (int i = 0; i < count; i++) {
+            KeyDefinition key = KeyDefinition.builder().name("plugin" + i).type(PluginImpl.class).build();
+            context.addBeanDefinition(key, PluginImpl.class.getConstructors()[0]);
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package com.github.oxal.benchmark.configuration;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Configuration;
+import com.github.oxal.annotation.ScopeType;
+
+public class ConfigurationFixtures {
+
+    @Application
+    public static class ConfigurationApplication {
+    }
+
+    /**
+     * Bound from the {@code server.*} properties, including the nested {@code server.tls.*} ones.
+     */
+    @Configuration(prefix = "server")
+    public static class ServerConfig {
+        private String host;
+        private int port;
+        private Tls tls;
+
+        public String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+
+        public Tls getTls() {
+            return tls;
+        }
+
+        public static class Tls {
+            private boolean enabled;
+            private String protocol;
+
+            public boolean isEnabled() {
+                return enabled;
+            }
+
+            public String getProtocol() {
+                return protocol;
+            }
+        }
+    }
+
+    /**
+     * A prototype configuration, bound from the {@code client.*} properties on every creation.
+     */
+    @Configuration(prefix = "client")
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class ClientConfig {
+        private String url;
+        private long timeout;
+        private int retries;
+
+        public String getUrl() {
+            return url;
+        }
+
+        public long getTimeout() {
+            return timeout;
+        }
+
+        public int getRetries() {
+            return retries;
+        }
+    }
+}
@@ -0,0 +1,40 @@
+package com.github.oxal.benchmark.lazy;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Lazy;
+
+public class LazyFixtures {
+
+    @Application
+    public static class LazyApplication {
+    }
+
+    public interface Calculator {
+        int add(int left, int right);
+    }
+
+    @Bean
+    public static class SimpleCalculator implements Calculator {
+        @Override
+        public int add(int left, int right) {
+            return left + right;
+        }
+    }
+
+    /**
+     * Holds the {@code @Lazy} proxy of {@link Calculator}, resolved on its first call.
+     */
+    @Bean
+    public static class Invoice {
+        private final Calculator calculator;
+
+        public Invoice(@Lazy Calculator calculator) {
+            this.calculator = calculator;
+        }
+
+        public Calculator getCalculator() {
+            return calculator;
+        }
+    }
+}
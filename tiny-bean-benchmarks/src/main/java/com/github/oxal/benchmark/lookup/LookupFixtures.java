@@ -0,0 +1,57 @@
+package com.github.oxal.benchmark.lookup;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Primary;
+
+public class LookupFixtures {
+
+    @Application
+    public static class LookupApplication {
+    }
+
+    /**
+     * A singleton looked up by its type.
+     */
+    @Bean
+    public static class Repository {
+    }
+
+    public interface Clock {
+        long now();
+    }
+
+    @Bean("systemClock")
+    public static class SystemClock implements Clock {
+        @Override
+        public long now() {
+            return System.currentTimeMillis();
+        }
+    }
+
+    /**
+     * A singleton looked up by its qualifier, among several implementations of {@link Clock}.
+     */
+    @Bean("fixedClock")
+    public static class FixedClock implements Clock {
+        @Override
+        public long now() {
+            return 0;
+        }
+    }
+
+    public interface Codec {
+    }
+
+    /**
+     * The implementation of {@link Codec} picked by {@code @Primary} when looking up the interface.
+     */
+    @Bean
+    @Primary
+    public static class JsonCodec implements Codec {
+    }
+
+    @Bean
+    public static class XmlCodec implements Codec {
+    }
+}
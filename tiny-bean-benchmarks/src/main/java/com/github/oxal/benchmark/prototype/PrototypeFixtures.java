@@ -0,0 +1,54 @@
+package com.github.oxal.benchmark.prototype;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.ScopeType;
+
+public class PrototypeFixtures {
+
+    @Application
+    public static class PrototypeApplication {
+    }
+
+    @Bean
+    public static class Engine {
+    }
+
+    /**
+     * A prototype created through its constructor.
+     */
+    @Bean(scope = ScopeType.PROTOTYPE)
+    public static class Car {
+        private final Engine engine;
+
+        public Car(Engine engine) {
+            this.engine = engine;
+        }
+
+        public Engine getEngine() {
+            return engine;
+        }
+    }
+
+    public static class Wheel {
+        private final Engine engine;
+
+        public Wheel(Engine engine) {
+            this.engine = engine;
+        }
+
+        public Engine getEngine() {
+            return engine;
+        }
+    }
+
+    /**
+     * Hosts a prototype created through a {@code @Bean} method.
+     */
+    public static class Wheels {
+        @Bean(scope = ScopeType.PROTOTYPE)
+        public Wheel wheel(Engine engine) {
+            return new Wheel(engine);
+        }
+    }
+}
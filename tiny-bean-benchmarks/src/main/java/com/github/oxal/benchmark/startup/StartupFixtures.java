@@ -0,0 +1,102 @@
+package com.github.oxal.benchmark.startup;
+
+import com.github.oxal.annotation.Application;
+import com.github.oxal.annotation.Bean;
+import com.github.oxal.annotation.Configuration;
+import com.github.oxal.annotation.ScopeType;
+import com.github.oxal.context.Context;
+
+import java.util.List;
+
+/**
+ * A small but typical application: a configuration, a few layers of services and some {@code @Bean} methods.
+ */
+public class StartupFixtures {
+
+    @Application(eagerInit = true)
+    public static class StartupApplication {
+    }
+
+    @Configuration(prefix = "server")
+    public static class ServerConfig {
+        private String host;
+        private int port;
+
+        public String getHost() {
+            return host;
+        }
+
+        public int getPort() {
+            return port;
+        }
+    }
+
+    public static class DataSource {
+        private final String url;
+
+        public DataSource(String url) {
+            this.url = url;
+        }
+
+        public String getUrl() {
+            return url;
+        }
+    }
+
+    public static class Infrastructure {
+        @Bean
+        public DataSource dataSource(ServerConfig config) {
+            return new DataSource("jdbc:h2:" + config.getHost());
+        }
+
+        @Bean(scope = ScopeType.PROTOTYPE)
+        public StringBuilder buffer() {
+            return new StringBuilder();
+        }
+    }
+
+    public interface Repository {
+    }
+
+    @Bean
+    public static class UserRepository implements Repository {
+        public UserRepository(DataSource dataSource) {
+        }
+    }
+
+    @Bean
+    public static class OrderRepository implements Repository {
+        public OrderRepository(DataSource dataSource) {
+        }
+    }
+
+    @Bean
+    public static class ProductRepository implements Repository {
+        public ProductRepository(DataSource dataSource) {
+        }
+    }
+
+    @Bean
+    public static class UserService {
+        public UserService(UserRepository users) {
+        }
+    }
+
+    @Bean
+    public static class OrderService {
+        public OrderService(OrderRepository orders, ProductRepository products, UserService users) {
+        }
+    }
+
+    @Bean
+    public static class HealthCheck {
+        public HealthCheck(List<Repository> repositories, Context context) {
+        }
+    }
+
+    @Bean
+    public static class WebServer {
+        public WebServer(ServerConfig config, UserService users, OrderService orders, HealthCheck health) {
+        }
+    }
+}
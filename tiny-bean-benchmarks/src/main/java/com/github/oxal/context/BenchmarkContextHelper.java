@@ -0,0 +1,10 @@
+package com.github.oxal.context;
+
+/**
+ * A benchmark utility class to provide access to package-private methods in the context package.
+ */
+public class BenchmarkContextHelper {
+    public static void reset() {
+        ContextService.deleteContexte();
+    }
+}
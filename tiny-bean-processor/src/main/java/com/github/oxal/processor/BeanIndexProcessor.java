@@ -0,0 +1,320 @@
+package com.github.oxal.processor;
+
+import javax.annotation.processing.AbstractProcessor;
+import javax.annotation.processing.RoundEnvironment;
+import javax.annotation.processing.SupportedAnnotationTypes;
+import javax.lang.model.SourceVersion;
+import javax.lang.model.element.*;
+import javax.lang.model.type.ArrayType;
+import javax.lang.model.type.DeclaredType;
+import javax.lang.model.type.TypeKind;
+import javax.lang.model.type.TypeMirror;
+import javax.lang.model.util.ElementFilter;
+import javax.tools.Diagnostic;
+import javax.tools.FileObject;
+import javax.tools.JavaFileObject;
+import javax.tools.StandardLocation;
+import java.io.*;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.NoSuchFileException;
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Writes the bean index read by Tiny-Bean's {@code ContextInitializer}, so that the runtime classpath scan can be
+ * skipped.
+ * <p>
+ * The index lists, one {@code <category>=<binary class name>} per line:
+ * <ul>
+ *     <li>{@code bean}: classes annotated with {@code @Bean}, directly or through a stereotype or
+ *     {@code @Configuration};</li>
+ *     <li>{@code method}: classes declaring {@code @Bean} methods;</li>
+ *     <li>{@code before} and {@code after}: classes declaring {@code @BeforeContextLoad} and
+ *     {@code @AfterContextLoad} callbacks.</li>
+ * </ul>
+ * It also generates one {@code BeanInstantiator} per bean constructor, {@code @Bean} method and {@code @Bean} method
+ * host constructor, calling it directly with arguments cast to the parameter types, and lists them in
+ * {@value #FACTORIES_LOCATION} so that the runtime does not instantiate these beans by reflection. Private
+ * executables and types are left to the runtime.
+ * <p>
+ * Annotations are matched by name, so this processor does not depend on Tiny-Bean itself. On incremental builds,
+ * entries of a previous index are kept for the types that were not recompiled and still exist.
+ */
+@SupportedAnnotationTypes("*")
+public class BeanIndexProcessor extends AbstractProcessor {
+
+    static final String INDEX_LOCATION = "META-INF/tiny-bean/bean.index";
+    static final String FACTORIES_LOCATION = "META-INF/tiny-bean/factories.index";
+    static final String FACTORY_SUFFIX = "__TinyBeanFactory";
+
+    static final String BEAN = "com.github.oxal.annotation.Bean";
+    static final String BEFORE_CONTEXT_LOAD = "com.github.oxal.annotation.context.BeforeContextLoad";
+    static final String AFTER_CONTEXT_LOAD = "com.github.oxal.annotation.context.AfterContextLoad";
+    static final String BEAN_INSTANTIATOR = "com.github.oxal.factory.BeanInstantiator";
+
+    private final SortedSet<String> entries = new TreeSet<>();
+    private final SortedSet<String> factories = new TreeSet<>();
+    /**
+     * The keys of the executables whose factory was generated in this build, see {@link #factoryKey}.
+     */
+    private final Set<String> factoryKeys = new HashSet<>();
+    private final Set<String> factoryNames = new HashSet<>();
+    private final Set<String> processedTypes = new HashSet<>();
+
+    @Override
+    public SourceVersion getSupportedSourceVersion() {
+        return SourceVersion.latestSupported();
+    }
+
+    @Override
+    public boolean process(Set<? extends TypeElement> annotations, RoundEnvironment roundEnv) {
+        for (Element root : roundEnv.getRootElements()) {
+            visit(root);
+        }
+        if (roundEnv.processingOver()) {
+            writeIndex(INDEX_LOCATION, entries, line -> line.substring(line.indexOf('=') + 1));
+            writeIndex(FACTORIES_LOCATION, factories, line -> line.substring(0, line.indexOf('#')));
+        }
+        return false;
+    }
+
+    private void visit(Element element) {
+        if (!(element instanceof TypeElement type)) {
+            return;
+        }
+        processType(type);
+        for (TypeElement nested : ElementFilter.typesIn(type.getEnclosedElements())) {
+            visit(nested);
+        }
+    }
+
+    private void processType(TypeElement type) {
+        String name = binaryName(type);
+        processedTypes.add(name);
+
+        boolean hostsBeanMethods = false;
+        if (type.getKind() != ElementKind.ANNOTATION_TYPE && isBeanAnnotated(type, new HashSet<>())) {
+            entries.add("bean=" + name);
+            for (ExecutableElement constructor : ElementFilter.constructorsIn(type.getEnclosedElements())) {
+                if (constructor.getModifiers().contains(Modifier.PUBLIC)) {
+                    generateFactory(type, constructor);
+                }
+            }
+        }
+        for (ExecutableElement method : ElementFilter.methodsIn(type.getEnclosedElements())) {
+            if (hasAnnotation(method, BEAN)) {
+                entries.add("method=" + name);
+                hostsBeanMethods = true;
+                generateFactory(type, method);
+            }
+            if (hasAnnotation(method, BEFORE_CONTEXT_LOAD)) {
+                entries.add("before=" + name);
+            }
+            if (hasAnnotation(method, AFTER_CONTEXT_LOAD)) {
+                entries.add("after=" + name);
+            }
+        }
+        if (hostsBeanMethods) {
+            // Hosts are created through their single public constructor, or else their no-arg constructor.
+            ElementFilter.constructorsIn(type.getEnclosedElements()).stream()
+                    .filter(constructor -> constructor.getModifiers().contains(Modifier.PUBLIC) || constructor.getParameters().isEmpty())
+                    .forEach(constructor -> generateFactory(type, constructor));
+        }
+    }
+
+    /**
+     * Generates the factory of a constructor or {@code @Bean} method, unless it is not reachable from the package of
+     * its type or Tiny-Bean is not on the compilation classpath.
+     */
+    private void generateFactory(TypeElement type, ExecutableElement executable) {
+        if (!isGeneratable(type, executable)) {
+            return;
+        }
+        String key = factoryKey(type, executable);
+        if (!factoryKeys.add(key)) {
+            return;
+        }
+
+        String packageName = processingEnv.getElementUtils().getPackageOf(type).getQualifiedName().toString();
+        String factoryName = factoryName(type, executable, packageName);
+        String qualifiedFactoryName = packageName.isEmpty() ? factoryName : packageName + "." + factoryName;
+
+        try {
+            JavaFileObject file = processingEnv.getFiler().createSourceFile(qualifiedFactoryName, type);
+            try (Writer writer = file.openWriter()) {
+                writer.write(factorySource(type, executable, packageName, factoryName));
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to generate " + qualifiedFactoryName + ": " + e, executable);
+            return;
+        }
+        factories.add(key + "=" + qualifiedFactoryName);
+    }
+
+    private boolean isGeneratable(TypeElement type, ExecutableElement executable) {
+        if (processingEnv.getElementUtils().getTypeElement(BEAN_INSTANTIATOR) == null
+                || executable.getModifiers().contains(Modifier.PRIVATE)
+                || (executable.getKind() == ElementKind.METHOD && executable.getReturnType().getKind() == TypeKind.VOID)
+                || (executable.getKind() == ElementKind.CONSTRUCTOR && type.getModifiers().contains(Modifier.ABSTRACT))) {
+            return false;
+        }
+        for (Element element = type; element instanceof TypeElement; element = element.getEnclosingElement()) {
+            if (element.getModifiers().contains(Modifier.PRIVATE)
+                    || (element.getEnclosingElement() instanceof TypeElement && !element.getModifiers().contains(Modifier.STATIC)
+                    && element.getKind() == ElementKind.CLASS)) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private String factorySource(TypeElement type, ExecutableElement executable, String packageName, String factoryName) {
+        StringBuilder source = new StringBuilder();
+        if (!packageName.isEmpty()) {
+            source.append("package ").append(packageName).append(";\n\n");
+        }
+        source.append("// Generated by tiny-bean-processor, do not edit.\n")
+                .append("public final class ").append(factoryName).append(" implements ").append(BEAN_INSTANTIATOR).append(" {\n\n")
+                .append("    @Override\n")
+                .append("    @SuppressWarnings({\"unchecked\", \"rawtypes\"})\n")
+                .append("    public Object instantiate(Object host, Object[] args) throws Throwable {\n")
+                .append("        return ");
+
+        String typeName = type.getQualifiedName().toString();
+        if (executable.getKind() == ElementKind.CONSTRUCTOR) {
+            source.append("new ").append(typeName);
+        } else if (executable.getModifiers().contains(Modifier.STATIC)) {
+            source.append(typeName).append('.').append(executable.getSimpleName());
+        } else {
+            source.append("((").append(typeName).append(") host).").append(executable.getSimpleName());
+        }
+
+        source.append('(');
+        List<? extends VariableElement> parameters = executable.getParameters();
+        for (int i = 0; i < parameters.size(); i++) {
+            if (i > 0) {
+                source.append(", ");
+            }
+            TypeMirror parameterType = processingEnv.getTypeUtils().erasure(parameters.get(i).asType());
+            source.append('(').append(parameterType).append(") args[").append(i).append(']');
+        }
+        return source.append(");\n    }\n}\n").toString();
+    }
+
+    /**
+     * Builds the key under which the runtime looks the factory up: the binary name of the declaring type, then
+     * {@code #}, the method name or {@code <init>}, and the erased parameter types as {@code Class.getTypeName()}
+     * prints them.
+     */
+    private String factoryKey(TypeElement type, ExecutableElement executable) {
+        StringJoiner parameters = new StringJoiner(",", "(", ")");
+        for (VariableElement parameter : executable.getParameters()) {
+            parameters.add(typeName(processingEnv.getTypeUtils().erasure(parameter.asType())));
+        }
+        String name = executable.getKind() == ElementKind.CONSTRUCTOR ? "<init>" : executable.getSimpleName().toString();
+        return binaryName(type) + "#" + name + parameters;
+    }
+
+    private String typeName(TypeMirror type) {
+        return switch (type.getKind()) {
+            case ARRAY -> typeName(((ArrayType) type).getComponentType()) + "[]";
+            case DECLARED -> binaryName((TypeElement) ((DeclaredType) type).asElement());
+            default -> type.toString();
+        };
+    }
+
+    private String factoryName(TypeElement type, ExecutableElement executable, String packageName) {
+        String typeName = binaryName(type);
+        String baseName = (packageName.isEmpty() ? typeName : typeName.substring(packageName.length() + 1)).replace('$', '_');
+        if (executable.getKind() == ElementKind.METHOD) {
+            baseName += "__" + executable.getSimpleName();
+        }
+        String factoryName = baseName + FACTORY_SUFFIX;
+        for (int i = 1; !factoryNames.add(packageName + "." + factoryName); i++) {
+            factoryName = baseName + FACTORY_SUFFIX + i;
+        }
+        return factoryName;
+    }
+
+    /**
+     * Tells whether the element carries {@code @Bean}, either directly or through annotations meta-annotated with it,
+     * at any depth.
+     */
+    private boolean isBeanAnnotated(Element element, Set<String> visited) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            TypeElement annotationType = (TypeElement) mirror.getAnnotationType().asElement();
+            String annotationName = annotationType.getQualifiedName().toString();
+            if (annotationName.equals(BEAN)) {
+                return true;
+            }
+            if (visited.add(annotationName) && isBeanAnnotated(annotationType, visited)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private static boolean hasAnnotation(Element element, String annotationName) {
+        for (AnnotationMirror mirror : element.getAnnotationMirrors()) {
+            if (((TypeElement) mirror.getAnnotationType().asElement()).getQualifiedName().contentEquals(annotationName)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private String binaryName(TypeElement type) {
+        return processingEnv.getElementUtils().getBinaryName(type).toString();
+    }
+
+    private void writeIndex(String location, SortedSet<String> entries, Function<String, String> typeOfEntry) {
+        SortedSet<String> lines = new TreeSet<>(entries);
+        lines.addAll(readPreviousEntries(location, typeOfEntry));
+        if (lines.isEmpty()) {
+            return;
+        }
+
+        try {
+            FileObject resource = processingEnv.getFiler().createResource(StandardLocation.CLASS_OUTPUT, "", location);
+            try (Writer writer = new OutputStreamWriter(resource.openOutputStream(), StandardCharsets.UTF_8)) {
+                writer.write("# Generated by tiny-bean-processor, do not edit.\n");
+                for (String line : lines) {
+                    writer.write(line);
+                    writer.write('\n');
+                }
+            }
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.ERROR, "Unable to write " + location + ": " + e);
+        }
+    }
+
+    /**
+     * Returns the entries of the index left by a previous compilation for types that were not recompiled this time
+     * and still exist.
+     */
+    private List<String> readPreviousEntries(String location, Function<String, String> typeOfEntry) {
+        List<String> previous = new ArrayList<>();
+        try {
+            FileObject resource = processingEnv.getFiler().getResource(StandardLocation.CLASS_OUTPUT, "", location);
+            try (BufferedReader reader = new BufferedReader(new InputStreamReader(resource.openInputStream(), StandardCharsets.UTF_8))) {
+                String line;
+                while ((line = reader.readLine()) != null) {
+                    int separator = line.indexOf('=');
+                    if (line.startsWith("#") || separator < 0) {
+                        continue;
+                    }
+                    String className = typeOfEntry.apply(line);
+                    if (!processedTypes.contains(className)
+                            && processingEnv.getElementUtils().getTypeElement(className.replace('$', '.')) != null) {
+                        previous.add(line);
+                    }
+                }
+            }
+        } catch (FileNotFoundException | NoSuchFileException e) {
+            // No previous index: this is a full build.
+        } catch (IOException e) {
+            processingEnv.getMessager().printMessage(Diagnostic.Kind.NOTE, "Ignoring unreadable previous " + location + ": " + e);
+        }
+        return previous;
+    }
+}
@@ -0,0 +1,246 @@
+package com.github.oxal.processor;
+
+import com.github.oxal.context.ContextService;
+import com.github.oxal.context.TestContextHelper;
+import com.github.oxal.factory.BeanInstantiator;
+import com.github.oxal.object.KeyDefinition;
+import com.github.oxal.runner.ApplicationRunner;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import javax.tools.*;
+import java.io.IOException;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+class BeanIndexProcessorTest {
+
+    private static final Map<String, String> STUBS = Map.of(
+            "com.github.oxal.annotation.Bean",
+            "package com.github.oxal.annotation; public @interface Bean {}",
+            "com.github.oxal.annotation.Configuration",
+            "package com.github.oxal.annotation; @Bean public @interface Configuration {}",
+            "com.github.oxal.annotation.context.BeforeContextLoad",
+            "package com.github.oxal.annotation.context; public @interface BeforeContextLoad {}",
+            "com.github.oxal.annotation.context.AfterContextLoad",
+            "package com.github.oxal.annotation.context; public @interface AfterContextLoad {}",
+            "com.github.oxal.factory.BeanInstantiator",
+            "package com.github.oxal.factory; public interface BeanInstantiator { Object instantiate(Object host, Object[] args) throws Throwable; }"
+    );
+
+    @TempDir
+    Path output;
+
+    @Test
+    void process_shouldIndexBeansFactoriesAndCallbacks() throws IOException {
+        compile(Map.of(
+                "fr.app.Service", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Bean public class Service {
+                            @com.github.oxal.annotation.Bean public static class Nested {}
+                        }""",
+                "fr.app.Settings", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Configuration public class Settings {}""",
+                "fr.app.Stereotype", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Configuration public @interface Stereotype {}""",
+                "fr.app.Repository", """
+                        package fr.app;
+                        @Stereotype public class Repository {}""",
+                "fr.app.Factory", """
+                        package fr.app;
+                        public class Factory {
+                            @com.github.oxal.annotation.Bean public String name() { return "name"; }
+                        }""",
+                "fr.app.Callbacks", """
+                        package fr.app;
+                        public class Callbacks {
+                            @com.github.oxal.annotation.context.BeforeContextLoad public static void before() {}
+                            @com.github.oxal.annotation.context.AfterContextLoad public static void after() {}
+                        }""",
+                "fr.app.Plain", """
+                        package fr.app;
+                        public class Plain {}"""
+        ));
+
+        assertEquals(List.of(
+                "after=fr.app.Callbacks",
+                "bean=fr.app.Repository",
+                "bean=fr.app.Service",
+                "bean=fr.app.Service$Nested",
+                "bean=fr.app.Settings",
+                "before=fr.app.Callbacks",
+                "method=fr.app.Factory"
+        ), readIndex());
+    }
+
+    @Test
+    void process_shouldGenerateFactoriesCallingConstructorsAndMethodsDirectly() throws Exception {
+        compile(Map.of(
+                "fr.app.Dao", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Bean public class Dao {}""",
+                "fr.app.Service", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Bean public class Service {
+                            public final Dao dao;
+                            public final java.util.List<String> names;
+                            public Service(Dao dao, java.util.List<String> names) { this.dao = dao; this.names = names; }
+                        }""",
+                "fr.app.Factory", """
+                        package fr.app;
+                        public class Factory {
+                            @com.github.oxal.annotation.Bean String greeting(int count) { return "hello x" + count; }
+                            @com.github.oxal.annotation.Bean public static Integer answer() { return 42; }
+                            @com.github.oxal.annotation.Bean private String hidden() { return "hidden"; }
+                        }"""
+        ));
+
+        List<String> factories = Files.readAllLines(output.resolve(BeanIndexProcessor.FACTORIES_LOCATION)).stream()
+                .filter(line -> !line.startsWith("#"))
+                .toList();
+        assertEquals(List.of(
+                "fr.app.Dao#<init>()=fr.app.Dao__TinyBeanFactory",
+                "fr.app.Factory#<init>()=fr.app.Factory__TinyBeanFactory",
+                "fr.app.Factory#answer()=fr.app.Factory__answer__TinyBeanFactory",
+                "fr.app.Factory#greeting(int)=fr.app.Factory__greeting__TinyBeanFactory",
+                "fr.app.Service#<init>(fr.app.Dao,java.util.List)=fr.app.Service__TinyBeanFactory"
+        ), factories);
+
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()})) {
+            Object dao = instantiate(loader, "fr.app.Dao__TinyBeanFactory", null);
+            Object service = instantiate(loader, "fr.app.Service__TinyBeanFactory", null, dao, List.of("a"));
+            assertSame(dao, service.getClass().getField("dao").get(service));
+
+            Object host = instantiate(loader, "fr.app.Factory__TinyBeanFactory", null);
+            assertEquals("hello x3", instantiate(loader, "fr.app.Factory__greeting__TinyBeanFactory", host, 3));
+            assertEquals(42, instantiate(loader, "fr.app.Factory__answer__TinyBeanFactory", null));
+        }
+    }
+
+    @Test
+    void process_shouldGenerateFactoriesThatTheRuntimeUses() throws Exception {
+        Path runtime = Path.of(ApplicationRunner.class.getProtectionDomain().getCodeSource().getLocation().toURI());
+        compile(List.of(runtime), Map.of(
+                "fr.app.Engine", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Bean public class Engine {}""",
+                "fr.app.Car", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Bean(scope = com.github.oxal.annotation.ScopeType.PROTOTYPE)
+                        public class Car {
+                            public final Engine engine;
+                            public Car(Engine engine) { this.engine = engine; }
+                        }""",
+                "fr.app.App", """
+                        package fr.app;
+                        @com.github.oxal.annotation.Application(packages = "fr.app") public class App {}"""
+        ));
+
+        ClassLoader original = Thread.currentThread().getContextClassLoader();
+        try (URLClassLoader loader = new URLClassLoader(new URL[]{output.toUri().toURL()}, getClass().getClassLoader())) {
+            Thread.currentThread().setContextClassLoader(loader);
+            ApplicationRunner.loadContext(loader.loadClass("fr.app.App"));
+
+            Class<?> car = loader.loadClass("fr.app.Car");
+            Object first = ApplicationRunner.loadBean(car);
+            Object second = ApplicationRunner.loadBean(car);
+            assertNotSame(first, second);
+            assertSame(car.getField("engine").get(first), car.getField("engine").get(second));
+
+            BeanInstantiator instantiator = ContextService.getContext()
+                    .getInjectionPlan(KeyDefinition.builder().type(car).name("Car").build())
+                    .getInstantiator();
+            assertEquals("fr.app.Car__TinyBeanFactory", instantiator.getClass().getName(),
+                    "The runtime should create the bean through the generated factory.");
+            assertSame(loader, instantiator.getClass().getClassLoader());
+        } finally {
+            Thread.currentThread().setContextClassLoader(original);
+            TestContextHelper.cleanup();
+        }
+    }
+
+    @Test
+    void process_shouldKeepEntriesOfTypesNotRecompiled() throws IOException {
+        compile(Map.of(
+                "fr.app.First", "package fr.app; @com.github.oxal.annotation.Bean public class First {}",
+                "fr.app.Second", "package fr.app; @com.github.oxal.annotation.Bean public class Second {}"
+        ));
+
+        // Incremental build: only Second is recompiled and it is no longer a bean.
+        compile(Map.of("fr.app.Second", "package fr.app; public class Second {}"));
+
+        assertEquals(List.of("bean=fr.app.First"), readIndex());
+    }
+
+    @Test
+    void process_shouldNotWriteIndex_whenNothingIsAnnotated() throws IOException {
+        compile(Map.of("fr.app.Plain", "package fr.app; public class Plain {}"));
+
+        assertFalse(Files.exists(output.resolve(BeanIndexProcessor.INDEX_LOCATION)));
+    }
+
+    private static Object instantiate(ClassLoader loader, String factoryName, Object host, Object... args) throws Exception {
+        Object factory = loader.loadClass(factoryName).getConstructor().newInstance();
+        return factory.getClass().getMethod("instantiate", Object.class, Object[].class).invoke(factory, host, args);
+    }
+
+    private List<String> readIndex() throws IOException {
+        return Files.readAllLines(output.resolve(BeanIndexProcessor.INDEX_LOCATION)).stream()
+                .filter(line -> !line.startsWith("#"))
+                .toList();
+    }
+
+    private void compile(Map<String, String> sources) throws IOException {
+        compile(List.of(), sources);
+    }
+
+    /**
+     * Compiles the sources with the processor, against the given libraries, or against stubs of the Tiny-Bean types
+     * if there are none.
+     */
+    private void compile(List<Path> libraries, Map<String, String> sources) throws IOException {
+        JavaCompiler compiler = ToolProvider.getSystemJavaCompiler();
+        DiagnosticCollector<JavaFileObject> diagnostics = new DiagnosticCollector<>();
+        try (StandardJavaFileManager fileManager = compiler.getStandardFileManager(diagnostics, null, null)) {
+            List<Path> classpath = new ArrayList<>(libraries);
+            classpath.add(output);
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_OUTPUT, List.of(output));
+            fileManager.setLocationFromPaths(StandardLocation.CLASS_PATH, classpath);
+
+            List<JavaFileObject> units = new ArrayList<>();
+            STUBS.forEach((name, source) -> {
+                if (libraries.isEmpty() && !Files.exists(output.resolve(name.replace('.', '/') + ".class"))) {
+                    units.add(new SourceFile(name, source));
+                }
+            });
+            sources.forEach((name, source) -> units.add(new SourceFile(name, source)));
+
+            JavaCompiler.CompilationTask task = compiler.getTask(null, fileManager, diagnostics, null, null, units);
+            task.setProcessors(List.of(new BeanIndexProcessor()));
+            assertTrue(task.call(), () -> diagnostics.getDiagnostics().toString());
+        }
+    }
+
+    private static class SourceFile extends SimpleJavaFileObject {
+        private final String source;
+
+        SourceFile(String className, String source) {
+            super(java.net.URI.create("string:///" + className.replace('.', '/') + Kind.SOURCE.extension), Kind.SOURCE);
+            this.source = source;
+        }
+
+        @Override
+        public CharSequence getCharContent(boolean ignoreEncodingErrors) {
+            return source;
+        }
+    }
+}